@@ -0,0 +1,131 @@
+package api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Pretty prints the JSON token by token and stops as soon as the output reaches the limit,
+ * so the rest of the big body is neither parsed nor rendered.
+ * Literals of the numbers are copied as is.
+ */
+class JsonPrettyPrinter {
+    private static final String INDENT = "    ";
+
+    /**
+     * @param text  prettified JSON, cut at the limit
+     * @param truncated true if the output reached the limit before the end of the JSON
+     */
+    record Result(String text, boolean truncated) {
+    }
+
+    /**
+     * @throws IOException if the input is not a valid JSON
+     */
+    static Result print(Reader json, int limit) throws IOException {
+        BoundedWriter out = new BoundedWriter(limit);
+        JsonReader reader = new JsonReader(json);
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent(INDENT);
+        writer.setHtmlSafe(false);
+        writer.setSerializeNulls(true);
+        try {
+            copy(reader, writer);
+            writer.flush();
+        } catch (LimitReached e) {
+            return new Result(out.toString(), true);
+        }
+        return new Result(out.toString(), false);
+    }
+
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        while (true) {
+            switch (reader.peek()) {
+                case BEGIN_ARRAY -> {
+                    reader.beginArray();
+                    writer.beginArray();
+                }
+                case END_ARRAY -> {
+                    reader.endArray();
+                    writer.endArray();
+                }
+                case BEGIN_OBJECT -> {
+                    reader.beginObject();
+                    writer.beginObject();
+                }
+                case END_OBJECT -> {
+                    reader.endObject();
+                    writer.endObject();
+                }
+                case NAME -> writer.name(reader.nextName());
+                case STRING -> writer.value(reader.nextString());
+                case NUMBER -> writer.jsonValue(reader.nextString());
+                case BOOLEAN -> writer.value(reader.nextBoolean());
+                case NULL -> {
+                    reader.nextNull();
+                    writer.nullValue();
+                }
+                case END_DOCUMENT -> {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class LimitReached extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Keeps up to the limit of chars and interrupts the printing when the limit is exceeded.
+     */
+    private static class BoundedWriter extends Writer {
+        private final StringBuilder out = new StringBuilder();
+        private final int limit;
+
+        private BoundedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int free = limit - out.length();
+            if (len > free) {
+                out.append(cbuf, off, free);
+                throw new LimitReached();
+            }
+            out.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            int free = limit - out.length();
+            if (len > free) {
+                out.append(str, off, off + free);
+                throw new LimitReached();
+            }
+            out.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+    }
+}
@@ -1,44 +1,63 @@
 package api;
 
 import com.google.gson.JsonObject;
-import io.restassured.path.json.exception.JsonPathException;
 import io.restassured.response.Response;
 import util.log.Log;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Map;
 
 public class UtilAPI {
 
+    /**
+     * Max chars of the logged response body. System property: <b>api.log.maxChars</b> (default: 30000).
+     */
+    private static final int SYMBOLS_LIMIT = Math.max(1, Integer.getInteger("api.log.maxChars", 30000));
+
     public static void logResponse(Response resp) {
-        int symbolsLimit = 30000;
-        String out = getHeadersAndBody(resp);
-        int charsCount = out.length();
-        if (charsCount > symbolsLimit) {
-            Log.debug("Response truncated due to symbols limit (" + symbolsLimit + "). Actual symbols count: " + charsCount);
-            out = out.substring(0, symbolsLimit) + "\n...";
-        }
         Log.logRecord("API Response:\n"
-                + out
+                + getHeadersAndBody(resp, SYMBOLS_LIMIT)
         );
     }
 
     public static String getHeadersAndBody(Response resp) {
-        String body;
-        try {
-            body = resp.then().extract().body().jsonPath().prettify();
-        } catch (JsonPathException e) {
-            Log.logRecord("Was not able to prettify response due to the error: " + e.getMessage());
-            body = resp.then().extract().body().asString();
-        }
+        return getHeadersAndBody(resp, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Only the first {@code maxChars} of the prettified body are rendered, the rest of the body is not parsed.
+     */
+    public static String getHeadersAndBody(Response resp, int maxChars) {
         return resp.getStatusLine() + "\n"
                 + "Headers: " + Arrays.toString(resp.getHeaders().asList().toArray()) + "\n"
                 + "Response Body:\n"
-                + body + "\n"
+                + prettifyBody(resp, maxChars) + "\n"
                 + "  * * * * End response  * * *  "
                 ;
     }
 
+    private static String prettifyBody(Response resp, int maxChars) {
+        byte[] bytes = resp.getBody().asByteArray();
+        JsonPrettyPrinter.Result body;
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            body = JsonPrettyPrinter.print(reader, maxChars);
+        } catch (IOException | IllegalStateException e) {
+            Log.logRecord("Was not able to prettify response due to the error: " + e.getMessage());
+            String raw = resp.getBody().asString();
+            body = new JsonPrettyPrinter.Result(raw.length() > maxChars ? raw.substring(0, maxChars) : raw, raw.length() > maxChars);
+        }
+        if (!body.truncated()) {
+            return body.text();
+        }
+        Log.debug("Response truncated due to symbols limit (" + maxChars + "). Actual body size: " + bytes.length + " bytes");
+        return body.text() + "\n...";
+    }
+
     public static String convertToUrlParameters(JsonObject object) {
         StringBuilder parameters = new StringBuilder();
         for (String key : object.keySet()) {
@@ -1,42 +1,121 @@
 package api.objects;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
 import io.restassured.response.Response;
+import lombok.SneakyThrows;
 import org.json.simple.JSONObject;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public abstract class AbstractJson implements JsonData {
-
+    private static final Gson GSON = new Gson();
+    /**
+     * Gson instances are configured by the builders of the subclasses, so they are cached per class.
+     */
+    private static final Map<Class<?>, Gson> DESERIALIZERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Gson> SERIALIZERS = new ConcurrentHashMap<>();
+
+    /**
+     * @return null if the list is empty
+     */
     protected <T> T parseObjFromList(Response resp, String path, Class<T> classOfT, int index){
-        List<HashMap> jList = resp.getBody().jsonPath().get(path);
-        if (jList.isEmpty()) {
-            return null;
-        }
-        JSONObject object = new JSONObject(jList.get(index));
-        return new Gson().fromJson(object.toJSONString(), classOfT);
+        return readPath(resp, path, reader -> {
+            reader.beginArray();
+            if (!reader.hasNext()) {
+                return null;
+            }
+            for (int i = 0; i < index; i++) {
+                if (!reader.hasNext()) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + i);
+                }
+                reader.skipValue();
+            }
+            if (!reader.hasNext()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + index);
+            }
+            return GSON.<T>fromJson(reader, classOfT);
+        }, () -> {
+            List<HashMap> jList = resp.getBody().jsonPath().get(path);
+            if (jList.isEmpty()) {
+                return null;
+            }
+            JSONObject object = new JSONObject(jList.get(index));
+            return GSON.fromJson(object.toJSONString(), classOfT);
+        });
     }
 
     protected <T> ArrayList<T> parseList(Response resp, String path, Class<T> classOfT){
-        ArrayList<T> arr = new ArrayList<>();
-        List<HashMap> jList = resp.getBody().jsonPath().getList(path);
-        for (HashMap map: jList) {
-            JSONObject object = new JSONObject(map);
-            arr.add(
-                    new Gson().fromJson(object.toJSONString(), classOfT)
-            );
-        }
-        return arr;
+        ArrayList<T> parsed = readPath(resp, path, reader -> {
+            ArrayList<T> arr = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                arr.add(GSON.fromJson(reader, classOfT));
+            }
+            return arr;
+        }, () -> {
+            ArrayList<T> arr = new ArrayList<>();
+            List<HashMap> jList = resp.getBody().jsonPath().getList(path);
+            for (HashMap map: jList) {
+                JSONObject object = new JSONObject(map);
+                arr.add(
+                        GSON.fromJson(object.toJSONString(), classOfT)
+                );
+            }
+            return arr;
+        });
+        return parsed == null ? new ArrayList<>() : parsed;
     }
 
     protected <T> T parseObject(Response resp, String path, Class<T> classOfT){
-        HashMap<String, HashMap> jHash = resp.getBody().jsonPath().get(path);
-        JSONObject object = new JSONObject(jHash);
-        GsonBuilder builder = deserializationBuilder();
-        Gson gson = builder.create();
-        return gson.fromJson(object.toJSONString(), classOfT);
+        Gson gson = deserializer();
+        return readPath(resp, path, reader -> gson.fromJson(reader, classOfT), () -> {
+            HashMap<String, HashMap> jHash = resp.getBody().jsonPath().get(path);
+            JSONObject object = new JSONObject(jHash);
+            return gson.fromJson(object.toJSONString(), classOfT);
+        });
+    }
+
+    private interface PathValueReader<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Streams the response body to the value of the path and reads it. RestAssured JsonPath is used
+     * if the path is not supported by {@link JsonPathReader}.
+     *
+     * @return null if the value is absent
+     */
+    @SneakyThrows
+    private static <T> T readPath(Response resp, String path, PathValueReader<T> streamed, Supplier<T> byJsonPath) {
+        JsonPathReader pathReader = JsonPathReader.compile(path);
+        if (pathReader == null) {
+            return byJsonPath.get();
+        }
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(resp.getBody().asByteArray()), StandardCharsets.UTF_8))) {
+            return switch (pathReader.moveTo(reader)) {
+                case FOUND -> streamed.read(reader);
+                case ABSENT -> null;
+                case UNSUPPORTED -> byJsonPath.get();
+            };
+        }
+    }
+
+    private Gson deserializer() {
+        return DESERIALIZERS.computeIfAbsent(getClass(), c -> deserializationBuilder().create());
+    }
+
+    private Gson serializer() {
+        return SERIALIZERS.computeIfAbsent(getClass(), c -> serializationBuilder().create());
     }
 
     protected GsonBuilder deserializationBuilder(){
@@ -51,15 +130,15 @@ public abstract class AbstractJson implements JsonData {
 
     @Override
     public String getAsJsonString(){
-        return serializationBuilder().create().toJson(this);
+        return serializer().toJson(this);
     }
 
     public JsonElement getAsJson(){
-        return serializationBuilder().create().toJsonTree(this);
+        return serializer().toJsonTree(this);
     }
 
     public JsonObject convertObjectToJsonObject() {
-        return JsonParser.parseString(new Gson().toJson(this)).getAsJsonObject();
+        return JsonParser.parseString(GSON.toJson(this)).getAsJsonObject();
     }
 
 
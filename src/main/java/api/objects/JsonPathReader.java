@@ -0,0 +1,100 @@
+package api.objects;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Navigates the JSON token stream to the value of the simple path: names separated by dots with optional indexes
+ * (e.g. <i>data.items[2].owner</i>). Values which are not on the path are skipped without building them.
+ * <p>
+ * Other GPath expressions (wildcards, filters, spread over lists, etc.) are not supported, the callers should use
+ * RestAssured JsonPath for them.
+ */
+class JsonPathReader {
+    private static final Pattern SIMPLE_PATH = Pattern.compile("^[A-Za-z_$][\\w$-]*(\\[\\d+])*(\\.[A-Za-z_$][\\w$-]*(\\[\\d+])*)*$");
+    private static final Pattern SEGMENT = Pattern.compile("([^.\\[]+)|\\[(\\d+)]");
+
+    enum Result {FOUND, ABSENT, UNSUPPORTED}
+
+    private final List<Object> segments;
+
+    private JsonPathReader(List<Object> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * @return null if the path is not supported
+     */
+    static JsonPathReader compile(String path) {
+        if (path == null || path.isEmpty() || path.equals("$")) {
+            return new JsonPathReader(List.of());
+        }
+        if (!SIMPLE_PATH.matcher(path).matches()) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        Matcher m = SEGMENT.matcher(path);
+        while (m.find()) {
+            segments.add(m.group(1) != null ? m.group(1) : Integer.valueOf(m.group(2)));
+        }
+        return new JsonPathReader(segments);
+    }
+
+    /**
+     * Moves the reader to the value of the path.
+     *
+     * @return {@link Result#UNSUPPORTED} if the JSON structure doesn't match the path (e.g. GPath spread over the list is expected)
+     */
+    Result moveTo(JsonReader reader) throws IOException {
+        for (Object segment : segments) {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.NULL) {
+                return Result.ABSENT;
+            }
+            if (segment instanceof String name) {
+                if (token != JsonToken.BEGIN_OBJECT) {
+                    return Result.UNSUPPORTED;
+                }
+                if (!moveToName(reader, name)) {
+                    return Result.ABSENT;
+                }
+            } else {
+                if (token != JsonToken.BEGIN_ARRAY) {
+                    return Result.UNSUPPORTED;
+                }
+                if (!moveToIndex(reader, (Integer) segment)) {
+                    return Result.ABSENT;
+                }
+            }
+        }
+        return reader.peek() == JsonToken.NULL ? Result.ABSENT : Result.FOUND;
+    }
+
+    private static boolean moveToName(JsonReader reader, String name) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(name)) {
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    private static boolean moveToIndex(JsonReader reader, int index) throws IOException {
+        reader.beginArray();
+        for (int i = 0; i < index; i++) {
+            if (!reader.hasNext()) {
+                return false;
+            }
+            reader.skipValue();
+        }
+        return reader.hasNext();
+    }
+}
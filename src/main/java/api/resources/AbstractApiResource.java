@@ -3,9 +3,11 @@ package api.resources;
 import api.objects.JsonData;
 import com.google.gson.JsonObject;
 import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.RequestLoggingFilter;
 import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.RequestSpecification;
 import lombok.SneakyThrows;
 import util.DriverConfig;
@@ -13,12 +15,17 @@ import util.DriverWatcher;
 import util.execution.ApiThreadResponse;
 import util.log.Log;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 public class AbstractApiResource {
 
     private static final String CONTENT_TYPE = "application/json";
+    private static final RequestLoggingFilter REQUEST_LOGGING_FILTER = new RequestLoggingFilter();
+    private static final ResponseLoggingFilter RESPONSE_LOGGING_FILTER = new ResponseLoggingFilter();
     protected boolean debugRequests = true;
     private boolean enableRequestLogging = true;
 
@@ -35,12 +42,23 @@ public class AbstractApiResource {
     }
 
     private RequestSpecification addBodyWithDefaultRequestParams(RequestSpecification requestSpec, String contentType, String body) {
-        requestSpec = requestSpec
+        requestSpec = withHttpClientPool(requestSpec)
                 .contentType(contentType)
-                .filters(new RequestLoggingFilter(), new ResponseLoggingFilter());
+                .filters(REQUEST_LOGGING_FILTER, RESPONSE_LOGGING_FILTER);
         return addBody(requestSpec, body);
     }
 
+    /**
+     * Connections are reused if {@link HttpClientPool} is enabled. HTTP client configured for the request is kept.
+     */
+    private RequestSpecification withHttpClientPool(RequestSpecification requestSpec) {
+        if (!HttpClientPool.isEnabled()) {
+            return requestSpec;
+        }
+        RestAssuredConfig config = ((FilterableRequestSpecification) requestSpec).getConfig();
+        return requestSpec.config(HttpClientPool.apply(config));
+    }
+
     private RequestSpecification addBody(RequestSpecification requestSpec, String body) {
         if (body == null || body.isEmpty()) {
             return requestSpec;
@@ -103,7 +121,7 @@ public class AbstractApiResource {
 
     protected Response postCustomRequest(RequestSpecification requestSpec, String url, String body) {
         Response resp = requestWithDriverWatcher(
-                () -> addBody(requestSpec, body)
+                () -> addBody(withHttpClientPool(requestSpec), body)
                         .header("User-Agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 11_0_1) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/87.0.4280.88 Safari/537.36")
                         .when()
                         .post(url)
@@ -165,6 +183,77 @@ public class AbstractApiResource {
         return response;
     }
 
+    public CompletableFuture<Response> getAsync(String url) {
+        return async(() -> get(url));
+    }
+
+    public CompletableFuture<Response> getAsync(String url, String body) {
+        return async(() -> get(url, body));
+    }
+
+    protected CompletableFuture<Response> postAsync(String url, String body) {
+        return async(() -> post(url, body));
+    }
+
+    protected CompletableFuture<Response> postAsync(String url, JsonData body) {
+        return async(() -> post(url, body));
+    }
+
+    protected CompletableFuture<Response> postAsync(RequestSpecification requestSpec, String url, String body) {
+        return async(() -> post(requestSpec, url, body));
+    }
+
+    protected CompletableFuture<Response> patchAsync(RequestSpecification requestSpec, String url, String body) {
+        return async(() -> patch(requestSpec, url, body));
+    }
+
+    protected CompletableFuture<Response> deleteAsync(String url) {
+        return async(() -> delete(url));
+    }
+
+    protected CompletableFuture<Response> putAsync(String url, String body) {
+        return async(() -> put(url, body));
+    }
+
+    protected CompletableFuture<Response> putAsync(RequestSpecification requestSpec, String url, String body) {
+        return async(() -> put(requestSpec, url, body));
+    }
+
+    /**
+     * Executes the request in the API executor. Request data is recorded to {@link ApiThreadResponse} of the calling thread.
+     * The driver is not watched, since the calling thread can still use it; {@link #batch(List)} watches it while waiting.
+     *
+     * @see ApiExecutor
+     */
+    protected <T> CompletableFuture<T> async(Callable<T> request) {
+        return ApiExecutor.submit(ApiThreadResponse.attributeToCurrentThread(request));
+    }
+
+    /**
+     * Sends the independent requests in parallel and waits till all of them are completed.
+     *
+     * @return responses in the order of the requests
+     */
+    @SafeVarargs
+    protected final List<Response> batch(Callable<Response>... requests) {
+        List<Callable<Response>> list = new ArrayList<>(requests.length);
+        for (Callable<Response> request : requests) {
+            list.add(request); // the array itself doesn't escape the method
+        }
+        return batch(list);
+    }
+
+    protected List<Response> batch(List<Callable<Response>> requests) {
+        List<CompletableFuture<Response>> futures = new ArrayList<>(requests.size());
+        for (Callable<Response> request : requests) {
+            futures.add(async(request));
+        }
+        try (DriverWatcher watcher = new DriverWatcher()) {
+            watchDriver(watcher);
+            return ApiExecutor.joinAll(futures);
+        }
+    }
+
     @Deprecated
     protected JsonObject convertToJson(HashMap<String, String> data) {
         JsonObject obj = new JsonObject();
@@ -178,16 +267,23 @@ public class AbstractApiResource {
         return false;
     }
 
+    /**
+     * Starts watching the driver of the current thread if it's enabled for the resource.
+     */
+    private void watchDriver(DriverWatcher watcher) {
+        if (DriverConfig.driverCreated() && enableDriverWatcher()) {
+            watcher.setDriver(DriverConfig.getDriver());
+            watcher.setWatchedThreadId(Log.threadId());
+            watcher.start();
+        }
+    }
+
     @SneakyThrows
     private Response requestWithDriverWatcher(Callable<Response> req) {
         long start = System.currentTimeMillis();
         Response response;
         try (DriverWatcher watcher = new DriverWatcher()) {
-            if (DriverConfig.driverCreated() && enableDriverWatcher()) {
-                watcher.setDriver(DriverConfig.getDriver());
-                watcher.setWatchedThreadId(Log.threadId());
-                watcher.start();
-            }
+            watchDriver(watcher);
             Log.debug("Start request.");
             response = req.call();
         }
@@ -0,0 +1,63 @@
+package api.resources;
+
+import lombok.SneakyThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor of the async API requests. Requests are blocking, so the executor is sized by
+ * <b>api.async.threads</b> system property (default: 8). When the queue is full the request is executed in the calling thread.
+ */
+class ApiExecutor {
+    private static final int THREADS = Math.max(1, Integer.getInteger("api.async.threads", 8));
+
+    private static class PoolHolder {
+        private static final ExecutorService POOL = newPool();
+    }
+
+    private static ExecutorService newPool() {
+        AtomicInteger number = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(THREADS * 32), r -> {
+            Thread t = new Thread(r, "api-async-" + number.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    static <T> CompletableFuture<T> submit(Callable<T> request) {
+        return CompletableFuture.supplyAsync(() -> call(request), PoolHolder.POOL);
+    }
+
+    @SneakyThrows
+    private static <T> T call(Callable<T> request) {
+        return request.call();
+    }
+
+    /**
+     * Waits for all futures. The first failure is rethrown after all requests are completed.
+     */
+    @SneakyThrows
+    static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
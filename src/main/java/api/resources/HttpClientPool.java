@@ -0,0 +1,136 @@
+package api.resources;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpConnection;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.protocol.HttpCoreContext;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the connections of API requests alive and reuses them across the requests of all threads.
+ * <p>
+ * Connections are pooled per route (scheme, host and port of the base URI) by the shared connection manager.
+ * Each thread has its own HTTP client on top of the shared pool, since RestAssured modifies the client during the request.
+ * The clients are reused, so RestAssured doesn't shut down the pool after the request. Idle and expired connections
+ * are evicted in background.
+ * <p>
+ * System properties: <b>api.http.pool</b> (default: false), <b>api.http.pool.maxPerRoute</b> (default: 20),
+ * <b>api.http.pool.maxTotal</b> (default: 100), <b>api.http.pool.idleSeconds</b> - idle connections are closed
+ * after it (default: 30) and <b>api.http.keepAliveSeconds</b> - used if server doesn't send Keep-Alive header (default: 30).
+ */
+@SuppressWarnings("deprecation") // RestAssured works with AbstractHttpClient of HttpClient 4
+public class HttpClientPool {
+    private static final boolean ENABLED = Boolean.getBoolean("api.http.pool");
+    private static final int MAX_PER_ROUTE = Integer.getInteger("api.http.pool.maxPerRoute", 20);
+    private static final int MAX_TOTAL = Integer.getInteger("api.http.pool.maxTotal", 100);
+    private static final long IDLE_SECONDS = Math.max(1, Integer.getInteger("api.http.pool.idleSeconds", 30));
+    private static final long KEEP_ALIVE_MILLIS = TimeUnit.SECONDS.toMillis(Integer.getInteger("api.http.keepAliveSeconds", 30));
+    private static final String START_NANOS = "api.request.startNanos";
+
+    private static final PoolingClientConnectionManager CONNECTIONS = ENABLED ? newConnectionManager() : null;
+    private static final ThreadLocal<RestAssuredConfig> CONFIG = ThreadLocal.withInitial(HttpClientPool::newConfig);
+
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder REUSED_CONNECTIONS = new LongAdder();
+    private static final LongAdder TTFB_NANOS = new LongAdder();
+    private static final LongAccumulator MAX_TTFB_NANOS = new LongAccumulator(Math::max, 0);
+
+    private static final ConnectionKeepAliveStrategy KEEP_ALIVE = (response, context) -> {
+        long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return duration > 0 ? duration : KEEP_ALIVE_MILLIS;
+    };
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    private static PoolingClientConnectionManager newConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager();
+        manager.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+        manager.setMaxTotal(MAX_TOTAL);
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "api-connection-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(IDLE_SECONDS, TimeUnit.SECONDS);
+        }, IDLE_SECONDS, IDLE_SECONDS, TimeUnit.SECONDS);
+        return manager;
+    }
+
+    private static RestAssuredConfig newConfig() {
+        DefaultHttpClient client = newClient();
+        return RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> client));
+    }
+
+    private static DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTIONS);
+        client.setKeepAliveStrategy(KEEP_ALIVE);
+        client.addRequestInterceptor((request, context) -> {
+            REQUESTS.increment();
+            if (context.getAttribute(HttpCoreContext.HTTP_CONNECTION) instanceof HttpConnection connection
+                    && connection.getMetrics().getRequestCount() > 0) {
+                REUSED_CONNECTIONS.increment();
+            }
+            context.setAttribute(START_NANOS, System.nanoTime());
+        });
+        client.addResponseInterceptor((response, context) -> {
+            if (context.getAttribute(START_NANOS) instanceof Long start) {
+                long ttfb = System.nanoTime() - start;
+                TTFB_NANOS.add(ttfb);
+                MAX_TTFB_NANOS.accumulate(ttfb);
+            }
+        });
+        return client;
+    }
+
+    /**
+     * @return config of the current thread which uses the pooled client
+     */
+    static RestAssuredConfig config() {
+        return CONFIG.get();
+    }
+
+    /**
+     * Applies the pooled client to the config of the request. Other settings of the config are kept.
+     */
+    static RestAssuredConfig apply(RestAssuredConfig config) {
+        if (config == null) {
+            return config();
+        }
+        if (config.getHttpClientConfig().isUserConfigured()) {
+            return config;
+        }
+        return config.httpClient(config().getHttpClientConfig());
+    }
+
+    public static long getRequests() {
+        return REQUESTS.sum();
+    }
+
+    public static long getReusedConnections() {
+        return REUSED_CONNECTIONS.sum();
+    }
+
+    public static String getStats() {
+        long requests = getRequests();
+        long avgTtfb = requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(TTFB_NANOS.sum() / requests);
+        return "API connections: requests: " + requests
+                + "; reused connections: " + getReusedConnections()
+                + "; time to first byte: avg " + avgTtfb + " ms, max " + TimeUnit.NANOSECONDS.toMillis(MAX_TTFB_NANOS.get()) + " ms"
+                + (CONNECTIONS == null ? "" : "; pool: " + CONNECTIONS.getTotalStats());
+    }
+}
@@ -10,6 +10,8 @@ import util.execution.TestProfile;
 import util.log.ApiLogger;
 import util.log.ExtentManager;
 
+import java.util.function.Supplier;
+
 import static io.restassured.http.ContentType.JSON;
 
 public abstract class AbstractApiSteps {
@@ -51,7 +53,7 @@ public abstract class AbstractApiSteps {
     }
 
     static ValidatableResponse assertValidResponseOkValue(ValidatableResponse resp) {
-        String respData = ApiLogger.getRequestResponseInfo(ApiThreadResponse.getRequestData());
+        Supplier<String> respData = ApiLogger.requestResponseInfo(ApiThreadResponse.getRequestData());
         resp.contentType(JSON);
         assertDuringApiCall(() -> {
                     String error = "";
@@ -62,8 +64,13 @@ public abstract class AbstractApiSteps {
                         e.printStackTrace();
                         error = "\nCaused by error:" + e.getMessage();
                     }
-                    Assert.assertNotNull(okValue, "'ok' value was not provided in the response\n" + respData + error);
-                    Assert.assertTrue(okValue, "Incorrect response 'ok' value. \n" + respData);
+                    // response data is rendered only for the failed assertion
+                    if (okValue == null) {
+                        Assert.fail("'ok' value was not provided in the response\n" + respData.get() + error);
+                    }
+                    if (!okValue) {
+                        Assert.fail("Incorrect response 'ok' value. \n" + respData.get());
+                    }
                 }
         );
         return resp;
@@ -14,6 +14,7 @@ import ui.abstractObjects.elements.BasicElementWrapper;
 import ui.abstractObjects.elements.Element;
 import ui.abstractObjects.elements.ElementImpl;
 import ui.abstractObjects.elements.SelectImpl;
+import ui.abstractObjects.elements.factory.ElementCache;
 import ui.abstractObjects.elements.factory.ElementFactory;
 import util.DriverConfig;
 import util.Util;
@@ -36,6 +37,7 @@ public abstract class AbstractElementsContainer implements ContainerWithElements
 
     private final WaitFactory waitFactory = new WaitFactory();
     private final JavascriptExecutor js = (JavascriptExecutor) DriverConfig.getDriver();
+    private final ElementCache elementCache = ElementCache.createFor(getClass());
 
     private long defaultElementWaitTimeout = TIMEOUT_3;
     protected String urlPartForWindowHandleCalculation;
@@ -59,16 +61,29 @@ public abstract class AbstractElementsContainer implements ContainerWithElements
     }
 
     protected void initElements() {
-        ElementFactory.initElements(this);
+        ElementFactory.initElements(this, elementCache);
+    }
+
+    /**
+     * @return cache of the elements or null when the container is not annotated with {@link ui.abstractObjects.elements.factory.CacheElements}
+     */
+    public ElementCache getElementCache() {
+        return elementCache;
     }
 
     private final HashMap<Class<? extends AbstractRow>, HashMap<String, AbstractRow>> allRows = new HashMap<>();
+    private final HashMap<Class<? extends AbstractRow>, RowIndex> rowIndexes = new HashMap<>();
 
     @Override
     public HashMap<Class<? extends AbstractRow>, HashMap<String, AbstractRow>> getAbstractRowsHashMap() {
         return allRows;
     }
 
+    @Override
+    public HashMap<Class<? extends AbstractRow>, RowIndex> getRowIndexes() {
+        return rowIndexes;
+    }
+
     public String getUrlPartForWindowHandleCalculation() {
         return urlPartForWindowHandleCalculation;
     }
@@ -88,6 +103,7 @@ public abstract class AbstractElementsContainer implements ContainerWithElements
     @SuppressWarnings("unchecked")
     @SneakyThrows
     public <T extends AbstractElementsContainer> T refresh() {
+        ElementCache.invalidateAll();
         DriverConfig.getDriver().navigate().refresh();
         Log.logRecord("Page " + this.getClass().getName() + " was refreshed.");
         try {
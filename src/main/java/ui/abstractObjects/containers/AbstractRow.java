@@ -15,7 +15,7 @@ import static util.WaitFactory.TIMEOUT_2;
 
 public abstract class AbstractRow extends AbstractElementsContainer {
     private WebElement row;
-
+    private List<String> prefetchedTexts = List.of();
 
     protected AbstractRow(WebElement row) {
         setWebElement(row);
@@ -50,6 +50,18 @@ public abstract class AbstractRow extends AbstractElementsContainer {
 
     protected abstract String getIdentifier();
 
+    void setPrefetchedTexts(List<String> texts) {
+        prefetchedTexts = texts;
+    }
+
+    /**
+     * @return text of the cell declared in {@link RowIdentifier#cells()} which was fetched together with identifiers of the rows,
+     * or null if the row was not extracted in bulk.
+     */
+    protected String getPrefetchedText(int cellIndex) {
+        return cellIndex < prefetchedTexts.size() ? prefetchedTexts.get(cellIndex) : null;
+    }
+
     protected boolean identifierMatchedTo(String value) {
         return getIdentifier().equals(value);
     }
@@ -2,19 +2,18 @@ package ui.abstractObjects.containers;
 
 import lombok.SneakyThrows;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import org.testng.Assert;
 import ui.abstractObjects.elements.BasicElementWrapper;
 import ui.abstractObjects.elements.ElementImpl;
-import util.WaitFactory;
+import util.DriverConfig;
+import util.ScriptLocator;
 import util.exceptions.ObjectNotFound;
 import util.log.Log;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
-import java.util.List;
 
 import static util.WaitFactory.TIMEOUT_1;
 
@@ -22,6 +21,8 @@ public interface ContainerWithRows {
 
     HashMap<Class<? extends AbstractRow>, HashMap<String, AbstractRow>> getAbstractRowsHashMap();
 
+    HashMap<Class<? extends AbstractRow>, RowIndex> getRowIndexes();
+
     /*
      * AbstractRows operations
      **/
@@ -55,7 +56,7 @@ public interface ContainerWithRows {
      */
     default AbstractRow findRowContainsIdentifier(Class<? extends AbstractRow> clazz, By lctr, String identifier) {
         HashMap<String, ? extends AbstractRow> rows = getRowsHash(clazz, lctr);
-        return findRowContains(rows, identifier, lctr);
+        return findRowContains(clazz, rows, identifier, lctr);
     }
 
     /**
@@ -63,7 +64,16 @@ public interface ContainerWithRows {
      */
     default AbstractRow getRowContainsIdentifier(Class<? extends AbstractRow> clazz, By lctr, String identifier) {
         HashMap<String, ? extends AbstractRow> rows = getRowsHash(clazz, lctr);
-        return getRowContains(rows, identifier);
+        return getRowContains(clazz, rows, identifier);
+    }
+
+    /**
+     * @returns null if row is not found
+     */
+    default AbstractRow getRowStartsWithIdentifier(Class<? extends AbstractRow> clazz, By lctr, String prefix) {
+        getRowsHash(clazz, lctr);
+        RowIndex index = getRowIndexes().get(clazz);
+        return index == null ? null : index.getRowStartsWith(prefix);
     }
 
     default AbstractRow getRowByIdentifier(Class<? extends AbstractRow> clazz, BasicElementWrapper el, String identifier) {
@@ -113,7 +123,11 @@ public interface ContainerWithRows {
     /**
      * @returns null if row is not found
      */
-    private AbstractRow getRowContains(HashMap<String, ? extends AbstractRow> rows, String substr) {
+    private AbstractRow getRowContains(Class<? extends AbstractRow> clazz, HashMap<String, ? extends AbstractRow> rows, String substr) {
+        RowIndex index = getRowIndexes().get(clazz);
+        if (index != null && index.asHashMap() == rows) {
+            return index.getRowContains(substr);
+        }
         for (String key :
                 rows.keySet()) {
             if (key.contains(substr)) {
@@ -140,8 +154,8 @@ public interface ContainerWithRows {
     /**
      * @throws ObjectNotFound if rows is not found.
      */
-    private AbstractRow findRowContains(HashMap<String, ? extends AbstractRow> rows, String substring, By lctr) {
-        AbstractRow row = getRowContains(rows, substring);
+    private AbstractRow findRowContains(Class<? extends AbstractRow> clazz, HashMap<String, ? extends AbstractRow> rows, String substring, By lctr) {
+        AbstractRow row = getRowContains(clazz, rows, substring);
         if (row == null) {
             throw new ObjectNotFound("Row was not found which contains identifier '" + substring + "'. (Lctr: " + lctr + ")" +
                     "\nList of available rows: " +
@@ -155,16 +169,26 @@ public interface ContainerWithRows {
         return createRowsHash(clazz, null, lctr, timeout);
     }
 
+    /**
+     * Existing rows are reused while the DOM fingerprint of the rows (hashes of their contents) is not changed.
+     * Otherwise the rows are created again and only new and changed rows are asked for the identifier.
+     * <p>
+     * Please note: when the rows were created before, each call costs one extra script execution to fetch the fingerprint,
+     * even if nothing was changed on the page.
+     */
     default HashMap<String, ? extends AbstractRow> createRowsHash(Class<? extends AbstractRow> clazz, WebElement parent, By lctr, long timeout) {
-        /*HashMap<String, AbstractRow>*/
-        HashMap<String, AbstractRow> rows = getCreatedHashRows(clazz);
-        if (rows == null || rows.size() == 0) {
+        RowIndex index = getRowIndexes().get(clazz);
+        if (index == null || index.size() == 0) {
             //create new hash
             return initNewRowsHash(clazz, parent, lctr, timeout);
         }
+        if (ScriptLocator.of(lctr) != null && !index.matches(rowsExtractor().fingerprint(parent, lctr))) {
+            Log.debug("Rows of " + clazz.getSimpleName() + " were changed on the page. Updating the rows hash.");
+            return updateRowsHash(clazz, index, parent, lctr, timeout);
+        }
         //reuse existing rows if they were initiated before
-        Log.debug("All rows:" + rows);
-        return rows;
+        Log.debug("All rows:" + index);
+        return index.asHashMap();
     }
 
     default HashMap<String, ? extends AbstractRow> initNewRowsHash(Class<? extends AbstractRow> clazz, By lctr) {
@@ -176,36 +200,33 @@ public interface ContainerWithRows {
     }
 
     default HashMap<String, ? extends AbstractRow> initNewRowsHash(Class<? extends AbstractRow> clazz, WebElement parent, By lctr, long timeout) {
-        HashMap<String, AbstractRow> rows = new HashMap<>();
-        List<WebElement> elements;
-        if (parent != null) {
-            elements = new WaitFactory().findElements(parent, lctr, timeout);
-        } else {
-            elements = new WaitFactory().findElements(lctr, timeout);
-        }
+        return updateRowsHash(clazz, null, parent, lctr, timeout);
+    }
+
+    private HashMap<String, ? extends AbstractRow> updateRowsHash(Class<? extends AbstractRow> clazz, RowIndex previous, WebElement parent, By lctr, long timeout) {
+        RowIndex index = null;
         try {
-            for (WebElement el : elements) {
-                Constructor<?> constructor = clazz.getDeclaredConstructor(WebElement.class);
-                constructor.setAccessible(true);
-                AbstractRow row = (AbstractRow) constructor.newInstance(el);
-                String identifier = row.getIdentifier();
-                Assert.assertNotNull(identifier, "AbstractRow identifier can't be null. Probably getIdentifier() should be fixed for the class: " + row.getClass().getName());
-                rows.put(identifier, row);
+            if (RowsExtractor.supportsBulk(clazz, lctr)) {
+                index = rowsExtractor().extract(clazz, parent, lctr, timeout);
+            } else {
+                index = rowsExtractor().create(clazz, previous, parent, lctr, timeout);
             }
-        } catch (NoSuchMethodException
-                 | SecurityException
-                 | InvocationTargetException
-                 | IllegalAccessException
-                 | InstantiationException e) {
+        } catch (SecurityException
+                 | ReflectiveOperationException e) {
             e.printStackTrace();
             Assert.fail("Exception captured in createRowsHash(). Details:\n" + e.getMessage());
         }
-        addRowHash(clazz, rows);
-        return rows;
+        addRowHash(clazz, index);
+        return index.asHashMap();
+    }
+
+    private RowsExtractor rowsExtractor() {
+        return new RowsExtractor((JavascriptExecutor) DriverConfig.getDriver());
     }
 
-    private void addRowHash(Class<? extends AbstractRow> clazz, HashMap<String, AbstractRow> hash) {
-        getAbstractRowsHashMap().put(clazz, hash);
+    private void addRowHash(Class<? extends AbstractRow> clazz, RowIndex index) {
+        getRowIndexes().put(clazz, index);
+        getAbstractRowsHashMap().put(clazz, index.asHashMap());
     }
 
     default HashMap<String, AbstractRow> getCreatedHashRows(Class<? extends AbstractRow> clazz) {
@@ -214,6 +235,7 @@ public interface ContainerWithRows {
 
     default void clearRowsHash() {
         getAbstractRowsHashMap().clear();
+        getRowIndexes().clear();
     }
 
     default HashMap<String, ? extends AbstractRow> getRowsHash(Class<? extends AbstractRow> clazz, BasicElementWrapper rows) {
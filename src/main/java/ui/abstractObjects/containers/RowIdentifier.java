@@ -0,0 +1,27 @@
+package ui.abstractObjects.containers;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables bulk extraction of the rows of the annotated {@link AbstractRow} class:
+ * identifiers (and texts of the declared cells) of all rows are fetched by a single script,
+ * and the WebElement of the row is located only when the row is used.
+ * <p>
+ * The identifier is the trimmed text of the element found by {@link #css()} inside the row
+ * and should be equal to the value returned by {@link AbstractRow#getIdentifier()}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface RowIdentifier {
+    /**
+     * CSS selector of the identifier element inside the row. Text of the row itself is used when empty.
+     */
+    String css() default "";
+
+    /**
+     * CSS selectors of the cells inside the row, which texts are fetched together with identifiers.
+     * The texts are available by {@link AbstractRow#getPrefetchedText(int)}.
+     */
+    String[] cells() default {};
+}
@@ -0,0 +1,119 @@
+package ui.abstractObjects.containers;
+
+import java.util.*;
+
+/**
+ * Rows of one {@link AbstractRow} class in the DOM order, indexed by identifier.
+ * <p>
+ * Besides the exact lookup it keeps a sorted index for prefix lookups and a trigram index for substring lookups,
+ * so the search doesn't scan all identifiers.<br/>
+ * Hashes of the rows contents (DOM fingerprint) are used to detect that the rows were changed on the page,
+ * and to reuse the rows which were not changed.
+ */
+public class RowIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final List<String> identifiers;
+    private final List<AbstractRow> rows;
+    /**
+     * Hashes of the rows contents by position. Empty when the fingerprint is unknown.
+     */
+    private final List<Long> hashes;
+
+    private final HashMap<String, AbstractRow> byIdentifier = new HashMap<>();
+    private final TreeMap<String, AbstractRow> sorted = new TreeMap<>();
+    private final HashMap<String, Set<String>> grams = new HashMap<>();
+
+    RowIndex(List<String> identifiers, List<AbstractRow> rows, List<Long> hashes) {
+        this.identifiers = identifiers;
+        this.rows = rows;
+        this.hashes = hashes;
+        for (int i = 0; i < rows.size(); i++) {
+            String identifier = identifiers.get(i);
+            byIdentifier.put(identifier, rows.get(i));
+            sorted.put(identifier, rows.get(i));
+            for (int g = 0; g + GRAM_LENGTH <= identifier.length(); g++) {
+                grams.computeIfAbsent(identifier.substring(g, g + GRAM_LENGTH), k -> new HashSet<>()).add(identifier);
+            }
+        }
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * @return rows by identifiers. The map should not be modified.
+     */
+    public HashMap<String, AbstractRow> asHashMap() {
+        return byIdentifier;
+    }
+
+    /**
+     * @return null if row is not found
+     */
+    public AbstractRow getRow(String identifier) {
+        return byIdentifier.get(identifier);
+    }
+
+    /**
+     * @return row with the smallest identifier which starts with the prefix, or null if row is not found
+     */
+    public AbstractRow getRowStartsWith(String prefix) {
+        Map.Entry<String, AbstractRow> entry = sorted.ceilingEntry(prefix);
+        if (entry != null && entry.getKey().startsWith(prefix)) {
+            return entry.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * @return row with the smallest identifier which contains the substring, or null if row is not found
+     */
+    public AbstractRow getRowContains(String substring) {
+        Collection<String> candidates = sorted.keySet();
+        for (int g = 0; g + GRAM_LENGTH <= substring.length(); g++) {
+            Set<String> withGram = grams.get(substring.substring(g, g + GRAM_LENGTH));
+            if (withGram == null) {
+                return null;
+            }
+            if (withGram.size() < candidates.size()) {
+                candidates = withGram;
+            }
+        }
+        String found = null;
+        for (String identifier : candidates) {
+            if (identifier.contains(substring) && (found == null || identifier.compareTo(found) < 0)) {
+                found = identifier;
+            }
+        }
+        return found == null ? null : sorted.get(found);
+    }
+
+    /**
+     * @param fingerprint hashes of the rows which are currently on the page
+     */
+    boolean matches(List<Long> fingerprint) {
+        return hashes.size() == rows.size() && hashes.equals(fingerprint);
+    }
+
+    /**
+     * @return positions of the rows by hashes of their contents
+     */
+    Map<Long, Deque<Integer>> positionsByHash() {
+        Map<Long, Deque<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < hashes.size(); i++) {
+            positions.computeIfAbsent(hashes.get(i), k -> new ArrayDeque<>()).add(i);
+        }
+        return positions;
+    }
+
+    String identifierAt(int position) {
+        return identifiers.get(position);
+    }
+
+    @Override
+    public String toString() {
+        return byIdentifier.toString();
+    }
+}
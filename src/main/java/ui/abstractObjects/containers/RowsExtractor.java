@@ -0,0 +1,302 @@
+package ui.abstractObjects.containers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.testng.Assert;
+import util.ScriptLocator;
+import util.WaitFactory;
+import util.log.Log;
+
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+
+/**
+ * Creates the rows of {@link AbstractRow} classes for {@link ContainerWithRows}.
+ * <p>
+ * Rows of the classes annotated with {@link RowIdentifier} are extracted in bulk: identifiers and cell texts of all rows
+ * are fetched by one script, and each row gets a lazy WebElement which is located only on the first use.
+ * <p>
+ * Together with the rows it fetches hashes of their contents, which are used by {@link RowIndex} as a DOM fingerprint.
+ */
+class RowsExtractor {
+    private static final long POLLING_MILLIS = 500;
+
+    private static final String COMMON_SCRIPT =
+            "var locator = arguments[0], using = arguments[1], parent = arguments[2] || document, idSelector = arguments[3];" +
+            "function findAll() {" +
+            "  if (using === 'xpath') {" +
+            "    var snapshot = document.evaluate(locator, parent, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    var nodes = [];" +
+            "    for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));" +
+            "    return nodes;" +
+            "  }" +
+            "  return Array.prototype.slice.call(parent.querySelectorAll(locator));" +
+            "}" +
+            "function text(row, selector) {" +
+            "  var el = selector ? row.querySelector(selector) : row;" +
+            "  return el ? (el.innerText || el.textContent || '').trim() : null;" +
+            "}" +
+            "function hash(row) {" +
+            "  var content = row.textContent || '', h = 0;" +
+            "  for (var i = 0; i < content.length; i++) h = (h * 31 + content.charCodeAt(i)) | 0;" +
+            "  return h;" +
+            "}";
+
+    private static final String EXTRACT_SCRIPT = COMMON_SCRIPT +
+            "var cells = arguments[4];" +
+            "return findAll().map(function (row) {" +
+            "  return [hash(row), text(row, idSelector)].concat(cells.map(function (cell) { return text(row, cell); }));" +
+            "});";
+
+    private static final String FINGERPRINT_SCRIPT = COMMON_SCRIPT +
+            "return findAll().map(hash);";
+
+    private static final String LOCATE_ROW_SCRIPT = COMMON_SCRIPT +
+            "var index = arguments[4], identifier = arguments[5];" +
+            "var rows = findAll();" +
+            "if (rows[index] && text(rows[index], idSelector) === identifier) return rows[index];" +
+            "for (var i = 0; i < rows.length; i++) {" +
+            "  if (text(rows[i], idSelector) === identifier) return rows[i];" +
+            "}" +
+            "return null;";
+
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor(WebElement.class);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private final JavascriptExecutor js;
+
+    RowsExtractor(JavascriptExecutor js) {
+        this.js = js;
+    }
+
+    static boolean supportsBulk(Class<? extends AbstractRow> clazz, By lctr) {
+        return clazz.isAnnotationPresent(RowIdentifier.class) && ScriptLocator.of(lctr) != null;
+    }
+
+    /**
+     * Constructor of the row class is resolved once per class.
+     */
+    static AbstractRow newRow(Class<? extends AbstractRow> clazz, WebElement element) throws ReflectiveOperationException {
+        Constructor<?> constructor = CONSTRUCTORS.get(clazz);
+        if (constructor == null) {
+            throw new NoSuchMethodException(clazz.getName() + ".<init>(WebElement)");
+        }
+        return (AbstractRow) constructor.newInstance(element);
+    }
+
+    /**
+     * @return hashes of the contents of the rows in the DOM order. Empty when the locator can't be resolved by the script.
+     */
+    List<Long> fingerprint(WebElement parent, By lctr) {
+        ScriptLocator locator = ScriptLocator.of(lctr);
+        if (locator == null) {
+            return List.of();
+        }
+        return toLongs((List<?>) js.executeScript(FINGERPRINT_SCRIPT, locator.value(), locator.using(), parent, ""));
+    }
+
+    /**
+     * Extracts all rows in bulk. Waits up to timeout till at least one row is present.
+     *
+     * @return index of the rows. Empty if rows were not found.
+     */
+    RowIndex extract(Class<? extends AbstractRow> clazz, WebElement parent, By lctr, long timeout) throws ReflectiveOperationException {
+        RowIdentifier declaration = clazz.getAnnotation(RowIdentifier.class);
+        ScriptLocator locator = ScriptLocator.of(lctr);
+        List<?> texts = fetchTexts(locator, parent, declaration, timeout);
+
+        List<String> identifiers = new ArrayList<>(texts.size());
+        List<AbstractRow> rows = new ArrayList<>(texts.size());
+        List<Long> hashes = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            List<?> values = (List<?>) texts.get(i);
+            List<String> rowTexts = toStrings(values.subList(1, values.size()));
+            String identifier = rowTexts.get(0);
+            Assert.assertNotNull(identifier, "Identifier element '" + declaration.css() + "' was not found in the row of " + clazz.getName() + " (Lctr: " + lctr + ")");
+            AbstractRow row = newRow(clazz, lazyRowElement(locator, parent, declaration.css(), i, identifier));
+            row.setPrefetchedTexts(rowTexts.subList(1, rowTexts.size()));
+            identifiers.add(identifier);
+            rows.add(row);
+            hashes.add(((Number) values.get(0)).longValue());
+        }
+        Log.debug("Rows of " + clazz.getSimpleName() + " were extracted in bulk: " + rows.size() + " rows.");
+        return new RowIndex(identifiers, rows, hashes);
+    }
+
+    /**
+     * Creates the rows from the found WebElements. Identifiers of the rows of the previous index which contents were not changed
+     * are reused, so getIdentifier() is called only for new and changed rows. Row objects are always created again,
+     * since the state which subclasses initiate in the constructor belongs to the old WebElement.
+     *
+     * @param previous index to reuse the rows from. Can be null.
+     */
+    RowIndex create(Class<? extends AbstractRow> clazz, RowIndex previous, WebElement parent, By lctr, long timeout) throws ReflectiveOperationException {
+        List<Long> hashes = fingerprint(parent, lctr);
+        List<WebElement> elements;
+        if (parent != null) {
+            elements = new WaitFactory().findElements(parent, lctr, timeout);
+        } else {
+            elements = new WaitFactory().findElements(lctr, timeout);
+        }
+        if (hashes.size() != elements.size()) {
+            // rows were changed during the lookup
+            hashes = fingerprint(parent, lctr);
+            if (hashes.size() != elements.size()) {
+                hashes = List.of();
+            }
+        }
+        Map<Long, Deque<Integer>> reusable = previous == null || hashes.isEmpty() ? Map.of() : previous.positionsByHash();
+
+        List<String> identifiers = new ArrayList<>(elements.size());
+        List<AbstractRow> rows = new ArrayList<>(elements.size());
+        int reused = 0;
+        for (int i = 0; i < elements.size(); i++) {
+            WebElement el = elements.get(i);
+            Deque<Integer> positions = hashes.isEmpty() ? null : reusable.get(hashes.get(i));
+            AbstractRow row;
+            String identifier;
+            if (positions != null && !positions.isEmpty()) {
+                int position = positions.poll();
+                row = newRow(clazz, el);
+                identifier = previous.identifierAt(position);
+                reused++;
+            } else {
+                row = newRow(clazz, el);
+                identifier = row.getIdentifier();
+                Assert.assertNotNull(identifier, "AbstractRow identifier can't be null. Probably getIdentifier() should be fixed for the class: " + row.getClass().getName());
+            }
+            identifiers.add(identifier);
+            rows.add(row);
+        }
+        if (previous != null) {
+            Log.debug("Rows of " + clazz.getSimpleName() + " were updated: " + rows.size() + " rows, " + reused + " identifiers reused.");
+        }
+        return new RowIndex(identifiers, rows, hashes);
+    }
+
+    private List<?> fetchTexts(ScriptLocator locator, WebElement parent, RowIdentifier declaration, long timeout) {
+        try {
+            return new FluentWait<>(js)
+                    .withTimeout(ofSeconds(timeout))
+                    .pollingEvery(ofMillis(POLLING_MILLIS))
+                    .until(executor -> {
+                        List<?> result = (List<?>) executor.executeScript(EXTRACT_SCRIPT,
+                                locator.value(), locator.using(), parent, declaration.css(), List.of(declaration.cells()));
+                        return result == null || result.isEmpty() ? null : result;
+                    });
+        } catch (TimeoutException e) {
+            Log.logInConsole("No rows were present by " + locator.value() + " (timeout = " + timeout + ").");
+            return List.of();
+        }
+    }
+
+    private static List<Long> toLongs(List<?> values) {
+        List<Long> longs = new ArrayList<>(values.size());
+        for (Object value : values) {
+            longs.add(((Number) value).longValue());
+        }
+        return longs;
+    }
+
+    private static List<String> toStrings(List<?> values) {
+        List<String> strings = new ArrayList<>(values.size());
+        for (Object value : values) {
+            strings.add(value == null ? null : value.toString());
+        }
+        return strings;
+    }
+
+    private WebElement lazyRowElement(ScriptLocator locator, WebElement parent, String idSelector, int index, String identifier) {
+        return (WebElement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new LazyRowHandler(locator, parent, idSelector, index, identifier)
+        );
+    }
+
+    /**
+     * Locates the row element on the first call and locates it again once when it became stale.
+     */
+    private class LazyRowHandler implements InvocationHandler {
+        private final ScriptLocator locator;
+        private final WebElement parent;
+        private final String idSelector;
+        private final int index;
+        private final String identifier;
+        private WebElement element;
+
+        private LazyRowHandler(ScriptLocator locator, WebElement parent, String idSelector, int index, String identifier) {
+            this.locator = locator;
+            this.parent = parent;
+            this.idSelector = idSelector;
+            this.index = index;
+            this.identifier = identifier;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "toString":
+                    return "Row '" + identifier + "' (Lctr: " + locator.value() + ")";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "getWrappedElement":
+                    return getElement();
+                default:
+                    break;
+            }
+            try {
+                return invokeOnElement(method, args);
+            } catch (StaleElementReferenceException e) {
+                Log.debug("Row '" + identifier + "' is stale. Locating it again.");
+                element = null;
+                return invokeOnElement(method, args);
+            }
+        }
+
+        private Object invokeOnElement(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(getElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private WebElement getElement() {
+            if (element == null) {
+                Object found = js.executeScript(LOCATE_ROW_SCRIPT,
+                        locator.value(), locator.using(), parent, idSelector, index, identifier);
+                if (!(found instanceof WebElement)) {
+                    throw new NoSuchElementException("Row with identifier '" + identifier + "' was not found by " + locator.value());
+                }
+                element = (WebElement) found;
+            }
+            return element;
+        }
+    }
+}
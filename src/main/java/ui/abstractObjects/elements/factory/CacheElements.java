@@ -0,0 +1,13 @@
+package ui.abstractObjects.elements.factory;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables {@link ElementCache} for the annotated page object (container):
+ * the elements of the proxied fields are found once and reused till navigation, refresh or stale element.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface CacheElements {
+}
@@ -0,0 +1,87 @@
+package ui.abstractObjects.elements.factory;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-container cache of the initiated elements of the proxied fields.<br/>
+ * Cached elements are invalidated on navigation, refresh and window/frame switch (see {@link #invalidateAll()})
+ * and on {@link org.openqa.selenium.StaleElementReferenceException} (see {@link #evict(Field)}).
+ * <p>
+ * The cache is opt-in: the container should be annotated with {@link CacheElements}.
+ */
+public class ElementCache {
+    /**
+     * Incremented on each navigation of the current thread's driver. Elements cached before it are not used anymore.
+     */
+    private static final ThreadLocal<Long> NAVIGATION_EPOCH = ThreadLocal.withInitial(() -> 0L);
+
+    private final String containerName;
+    private final Map<Field, Entry> elements = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    private ElementCache(String containerName) {
+        this.containerName = containerName;
+    }
+
+    /**
+     * @return cache for the container or null if the container is not annotated with {@link CacheElements}
+     */
+    public static ElementCache createFor(Class<?> containerClass) {
+        if (!containerClass.isAnnotationPresent(CacheElements.class)) {
+            return null;
+        }
+        return new ElementCache(containerClass.getName());
+    }
+
+    /**
+     * Invalidates the elements cached by all containers of the current thread.
+     */
+    public static void invalidateAll() {
+        NAVIGATION_EPOCH.set(NAVIGATION_EPOCH.get() + 1);
+    }
+
+    Object get(Field field, Initiator initiator) throws Throwable {
+        long epoch = NAVIGATION_EPOCH.get();
+        Entry entry = elements.get(field);
+        if (entry != null && entry.epoch == epoch) {
+            hits++;
+            return entry.element;
+        }
+        misses++;
+        Object element = initiator.initiate();
+        elements.put(field, new Entry(element, epoch));
+        return element;
+    }
+
+    void evict(Field field) {
+        elements.remove(field);
+    }
+
+    public void clear() {
+        elements.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return "Element cache of " + containerName + ": hits: " + hits + "; misses: " + misses;
+    }
+
+    @FunctionalInterface
+    interface Initiator {
+        Object initiate() throws Throwable;
+    }
+
+    private record Entry(Object element, long epoch) {
+    }
+}
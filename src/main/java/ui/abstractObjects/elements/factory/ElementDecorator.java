@@ -26,6 +26,10 @@ public class ElementDecorator implements FieldDecorator {
      * factory to use when generating ElementLocator.
      */
     private final ElementLocatorFactory factory;
+    /**
+     * cache of the decorated container. Can be null.
+     */
+    private final ElementCache cache;
 
     /**
      * Constructor for an ElementLocatorFactory. This class is designed to replace DefaultFieldDecorator.
@@ -33,7 +37,12 @@ public class ElementDecorator implements FieldDecorator {
      * @param factory for locating elements.
      */
     public ElementDecorator(ElementLocatorFactory factory) {
+        this(factory, null);
+    }
+
+    public ElementDecorator(ElementLocatorFactory factory, ElementCache cache) {
         this.factory = factory;
+        this.cache = cache;
     }
 
     private boolean fieldMatched(Field field){
@@ -117,7 +126,7 @@ public class ElementDecorator implements FieldDecorator {
      * @return a proxy representing the class we need to wrap.
      */
     protected <T> T proxyForLocator(ClassLoader loader, Class<T> interfaceType, ElementLocator locator, Field field) {
-        InvocationHandler handler = new ElementHandler(interfaceType, locator, field);
+        InvocationHandler handler = new ElementHandler(interfaceType, locator, field, cache);
 
         T proxy;
         proxy = interfaceType.cast(Proxy.newProxyInstance(
@@ -7,10 +7,13 @@ import lombok.SneakyThrows;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
 import org.openqa.selenium.support.pagefactory.DefaultElementLocatorFactory;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
 import org.openqa.selenium.support.pagefactory.FieldDecorator;
 import util.DriverConfig;
+import util.DriverTimeouts;
+import util.WaitFactory;
 
 /**
  * Element factory for wrapped elements. Similar to {@link org.openqa.selenium.support.PageFactory}
@@ -35,14 +38,32 @@ public class ElementFactory {
      * @return the initialized page-object.
      */
     public static <T> T initElements(SearchContext searchContext, T page) {
-        initElements(new ElementDecorator(new DefaultElementLocatorFactory(searchContext)), page);
+        initElements(new ElementDecorator(createLocatorFactory(searchContext)), page);
         return page;
     }
 
+    /**
+     * In zero implicit wait mode fields are located by explicit waits, since the driver doesn't wait for elements itself.
+     */
+    private static ElementLocatorFactory createLocatorFactory(SearchContext searchContext) {
+        if (DriverTimeouts.zeroImplicitWaitMode()) {
+            return new AjaxElementLocatorFactory(searchContext, (int) WaitFactory.DEFAULT_EXPLICIT_TIMEOUT);
+        }
+        return new DefaultElementLocatorFactory(searchContext);
+    }
+
     public static <T> T initElements(T page) {
         return initElements(DriverConfig.getDriver(), page);
     }
 
+    /**
+     * As {@link ElementFactory#initElements(Object)}, but the elements of the proxied fields are cached in the given cache.
+     */
+    public static <T> T initElements(T page, ElementCache cache) {
+        initElements(new ElementDecorator(createLocatorFactory(DriverConfig.getDriver()), cache), page);
+        return page;
+    }
+
     /**
      * see {@link org.openqa.selenium.support.PageFactory#initElements(org.openqa.selenium.support.pagefactory.ElementLocatorFactory, Object)}
      */
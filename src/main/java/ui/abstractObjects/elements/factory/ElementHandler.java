@@ -2,6 +2,7 @@ package ui.abstractObjects.elements.factory;
 
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
 import org.openqa.selenium.support.pagefactory.Annotations;
@@ -13,8 +14,6 @@ import util.log.Log;
 
 import java.lang.reflect.*;
 
-import static ui.abstractObjects.elements.factory.ImplementedByProcessor.getWrapperClass;
-
 /**
  * Replaces DefaultLocatingElementHandler. Simply opens it up to descendants of the WebElement interface, and other
  * mix-ins of WebElement and Locatable, etc. Saves the wrapping type for calling the constructor of the wrapped classes.
@@ -23,8 +22,11 @@ public class ElementHandler implements InvocationHandler {
     private final String name;
     private final By by;
     private final ElementLocator locator;
+    private final WrapperFactory wrapperFactory;
     private final Class<?> wrappingType;
     private final Class<?> interfaceType;
+    private final Field field;
+    private final ElementCache cache;
 
 
     /**
@@ -35,6 +37,15 @@ public class ElementHandler implements InvocationHandler {
      * @param <T>           type of the interface
      */
     public <T> ElementHandler(Class<T> interfaceType, ElementLocator locator, Field field) {
+        this(interfaceType, locator, field, null);
+    }
+
+    /**
+     * @param cache cache of the container which owns the field. Elements are initiated on each call when it's null.
+     */
+    public <T> ElementHandler(Class<T> interfaceType, ElementLocator locator, Field field, ElementCache cache) {
+        this.field = field;
+        this.cache = cache;
         this.name = field.getName();
         this.by = ((AbstractAnnotations) (new Annotations(field))).buildBy();
         this.locator = locator;
@@ -43,21 +54,19 @@ public class ElementHandler implements InvocationHandler {
             throw new RuntimeException("interface not assignable to Element.");
         }
 
-        this.wrappingType = getWrapperClass(interfaceType);
+        this.wrapperFactory = WrapperFactory.forInterface(interfaceType);
+        this.wrappingType = wrapperFactory.getWrappingType();
     }
 
     private Object initiateElement() throws Throwable {
-        Constructor<?> cons;
         Object thing;
 
         WebElement element = locator.findElement();
         if (BasicElementWrapper.class.isAssignableFrom(interfaceType)) {
-            cons = wrappingType.getConstructor(WebElement.class, String.class);
-            thing = cons.newInstance(element, name);
+            thing = wrapperFactory.newInstance(element, name);
         } else {
             Log.debug("BasicElementWrapper is not assignable for the object");
-            cons = wrappingType.getConstructor(WebElement.class);
-            thing = cons.newInstance(element);
+            thing = wrapperFactory.newInstance(element);
         }
         ((BasicElementWrapper) thing).setBy(by);
         return thing;
@@ -78,14 +87,28 @@ public class ElementHandler implements InvocationHandler {
                 return "Proxy element for: " + locator;
             case "getWrappedElement":
                 Log.debug("returning from getWrappedElement");
+                if (cache != null) {
+                    return ((BasicElementWrapper) cache.get(field, this::initiateElement)).getWebElement();
+                }
                 return locator.findElement();
             case "waitVisibility":
             case "waitPresence":
                 return executeWaitMethod(method, args);
         }
 
-        Object thing;
-        thing = initiateElement();
+        if (cache == null) {
+            return invokeOn(initiateElement(), method, args);
+        }
+        try {
+            return invokeOn(cache.get(field, this::initiateElement), method, args);
+        } catch (StaleElementReferenceException e) {
+            Log.debug("Cached element '" + name + "' is stale. Initiating it again.");
+            cache.evict(field);
+            return invokeOn(cache.get(field, this::initiateElement), method, args);
+        }
+    }
+
+    private Object invokeOn(Object thing, Method method, Object[] args) throws Throwable {
         try {
             return method.invoke(wrappingType.cast(thing), args);
         } catch (InvocationTargetException e) {
@@ -94,9 +117,7 @@ public class ElementHandler implements InvocationHandler {
         }
     }
 
-    private Object executeWaitMethod(Method method, Object[] args) throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<?> cons;
-        cons = wrappingType.getConstructor(By.class, String.class);
+    private Object executeWaitMethod(Method method, Object[] args) throws Throwable {
         Long timeout = null;
         if(args!= null && args.length > 0){
             try {
@@ -107,7 +128,7 @@ public class ElementHandler implements InvocationHandler {
             }
         }
 
-        Element el = ((Element) cons.newInstance(by, name));
+        Element el = ((Element) wrapperFactory.newInstance(by, name));
         switch (method.getName()) {
             default:
                 Assert.fail("Unknown method type: " + method.getName());
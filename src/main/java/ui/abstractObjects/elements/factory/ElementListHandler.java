@@ -5,15 +5,12 @@ import org.openqa.selenium.support.pagefactory.ElementLocator;
 import ui.abstractObjects.elements.BasicElementWrapper;
 import ui.abstractObjects.elements.Element;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
-import static ui.abstractObjects.elements.factory.ImplementedByProcessor.getWrapperClass;
-
 
 /**
  * Wraps a list of WebElements in multiple wrapped elements.
@@ -21,6 +18,7 @@ import static ui.abstractObjects.elements.factory.ImplementedByProcessor.getWrap
 public class ElementListHandler implements InvocationHandler {
 
     private final ElementLocator locator;
+    private final WrapperFactory wrapperFactory;
     private final Class<?> wrappingType;
 
     /**
@@ -35,7 +33,8 @@ public class ElementListHandler implements InvocationHandler {
         if (!BasicElementWrapper.class.isAssignableFrom(interfaceType)) {
             throw new RuntimeException("interface not assignable to BasicElementWrapper.");
         }
-        this.wrappingType = getWrapperClass(interfaceType);
+        this.wrapperFactory = WrapperFactory.forInterface(interfaceType);
+        this.wrappingType = wrapperFactory.getWrappingType();
 
     }
 
@@ -51,9 +50,8 @@ public class ElementListHandler implements InvocationHandler {
     @Override
     public Object invoke(Object o, Method method, Object[] objects) throws Throwable {
         List<Object> wrappedList = new ArrayList<Object>();
-        Constructor<?> cons = wrappingType.getConstructor(WebElement.class);
         for (WebElement element : locator.findElements()) {
-            Object thing = cons.newInstance(element);
+            Object thing = wrapperFactory.newInstance(element);
             wrappedList.add(wrappingType.cast(thing));
         }
         try {
@@ -0,0 +1,77 @@
+package ui.abstractObjects.elements.factory;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ui.abstractObjects.elements.factory.ImplementedByProcessor.getWrapperClass;
+
+/**
+ * Creates wrappers of the interface annotated with {@link ImplementedBy}.<br/>
+ * Wrapper class and its constructors are resolved once per interface and shared by all decorated page objects,
+ * so the proxies don't look up the constructors by reflection on each call.
+ */
+final class WrapperFactory {
+    private static final Map<Class<?>, WrapperFactory> REGISTRY = new ConcurrentHashMap<>();
+
+    private static final MethodType ELEMENT_AND_NAME = MethodType.methodType(Object.class, WebElement.class, String.class);
+    private static final MethodType ELEMENT = MethodType.methodType(Object.class, WebElement.class);
+    private static final MethodType LOCATOR_AND_NAME = MethodType.methodType(Object.class, By.class, String.class);
+
+    private final Class<?> wrappingType;
+    private final MethodHandle byElementAndName;
+    private final MethodHandle byElement;
+    private final MethodHandle byLocatorAndName;
+
+    private WrapperFactory(Class<?> wrappingType) {
+        this.wrappingType = wrappingType;
+        this.byElementAndName = findConstructor(wrappingType, ELEMENT_AND_NAME);
+        this.byElement = findConstructor(wrappingType, ELEMENT);
+        this.byLocatorAndName = findConstructor(wrappingType, LOCATOR_AND_NAME);
+    }
+
+    static WrapperFactory forInterface(Class<?> interfaceType) {
+        return REGISTRY.computeIfAbsent(interfaceType, type -> new WrapperFactory(getWrapperClass(type)));
+    }
+
+    Class<?> getWrappingType() {
+        return wrappingType;
+    }
+
+    Object newInstance(WebElement element, String name) throws Throwable {
+        return require(byElementAndName, ELEMENT_AND_NAME).invokeExact(element, name);
+    }
+
+    Object newInstance(WebElement element) throws Throwable {
+        return require(byElement, ELEMENT).invokeExact(element);
+    }
+
+    Object newInstance(By by, String name) throws Throwable {
+        return require(byLocatorAndName, LOCATOR_AND_NAME).invokeExact(by, name);
+    }
+
+    /**
+     * @return public constructor adapted to the given type or null if the wrapper doesn't have it
+     */
+    private static MethodHandle findConstructor(Class<?> wrappingType, MethodType type) {
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(wrappingType, type.changeReturnType(void.class))
+                    .asType(type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private MethodHandle require(MethodHandle constructor, MethodType type) throws NoSuchMethodException {
+        if (constructor == null) {
+            throw new NoSuchMethodException(wrappingType.getName() + ".<init>" + type.parameterList());
+        }
+        return constructor;
+    }
+}
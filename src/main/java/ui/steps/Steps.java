@@ -1,6 +1,7 @@
 package ui.steps;
 
 import org.openqa.selenium.JavascriptExecutor;
+import ui.abstractObjects.elements.factory.ElementCache;
 import util.DriverConfig;
 import util.log.Log;
 
@@ -11,6 +12,7 @@ public class Steps {
     }
 
     public static void refresh() {
+        ElementCache.invalidateAll();
         DriverConfig.getDriver().navigate().refresh();
     }
 
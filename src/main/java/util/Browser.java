@@ -4,13 +4,16 @@ import lombok.SneakyThrows;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.InvalidCookieDomainException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogType;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.testng.Assert;
 import ui.abstractObjects.containers.AbstractElementsContainer;
+import ui.abstractObjects.elements.factory.ElementCache;
 import ui.steps.Steps;
+import util.execution.BrowserLogCollector;
 import util.log.Log;
 
 import java.util.ArrayList;
@@ -33,6 +36,7 @@ public class Browser {
     }
 
     public static void switchToWindow(String windowHandle) {
+        ElementCache.invalidateAll();
         DriverConfig.getDriver().switchTo().window(windowHandle);
         Log.switchedToWindowMsg(windowHandle);
     }
@@ -135,7 +139,14 @@ public class Browser {
         }
     }
 
+    /**
+     * Logs which were collected in background by {@link BrowserLogCollector} are included.
+     */
     public static LogEntries getConsoleLogs() {
+        BrowserLogCollector collector = BrowserLogCollector.of(DriverConfig.getDriver());
+        if (collector != null) {
+            return collector.collectNow();
+        }
         return DriverConfig.getDriver()
                 .manage()
                 .logs()
@@ -154,6 +165,7 @@ public class Browser {
     }
 
     public static void get(String url) {
+        ElementCache.invalidateAll();
         DriverConfig.getDriver().get(url);
         Log.logInReport("Navigated to " + url);
     }
@@ -164,19 +176,25 @@ public class Browser {
     }
 
     public static void closeAllWindowsExceptCurrent() {
-        Set<String> windows = getWindowHandles();
+        closeAllWindowsExceptCurrent(DriverConfig.getDriver());
+    }
+
+    public static void closeAllWindowsExceptCurrent(WebDriver driver) {
+        Set<String> windows = driver.getWindowHandles();
         if (windows.size() <= 1) {
             Log.debug("Only one browser window is opened.");
             return;
         }
-        String currentWindow = getWindowHandle();
+        String currentWindow = driver.getWindowHandle();
         for (String window : windows) {
             if (!window.equals(currentWindow)) {
-                Browser.switchToWindow(window);
-                Browser.closeWindow();
+                driver.switchTo().window(window);
+                driver.close();
+                Log.logInConsole("Browser window(handle = " + window + ") was closed.");
             }
         }
-        Browser.switchToWindow(currentWindow);
+        driver.switchTo().window(currentWindow);
+        Log.switchedToWindowMsg(currentWindow);
     }
 
     public static void setCookies(Set<Cookie> cookies) {
@@ -250,11 +268,13 @@ public class Browser {
     }
 
     public static void switchToDefaultFrame() {
+        ElementCache.invalidateAll();
         DriverConfig.getDriver().switchTo().defaultContent();
         Log.logInConsole("Driver switched to the parent frame.");
     }
 
     public static void switchToIFrame(WebElement iframe) {
+        ElementCache.invalidateAll();
         DriverConfig.getDriver().switchTo().frame(iframe);
     }
 }
@@ -9,16 +9,21 @@ import org.openqa.selenium.UnexpectedAlertBehaviour;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
 import org.openqa.selenium.logging.LogType;
 import org.openqa.selenium.logging.LoggingPreferences;
 import org.openqa.selenium.remote.AbstractDriverOptions;
 import org.testng.Assert;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.logging.Level;
 
 public class BrowserProfile {
+    private static final String SELENOID_OPTIONS = "selenoid:options";
 
     private ChromeOptions chromeOptions;
     private FirefoxOptions firefoxOptions;
@@ -120,17 +125,15 @@ public class BrowserProfile {
         logPrefs.enable(LogType.BROWSER, Level.ALL);
         chromeOptions.setCapability(ChromeOptions.LOGGING_PREFS, logPrefs);
 
-        chromeOptions.addArguments("--enable-automation");
-        chromeOptions.addArguments("disable-infobars");
-        chromeOptions.addArguments("--disable-extensions");
+        addChromeArguments("--enable-automation", "disable-infobars", "--disable-extensions");
         chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
         chromeOptions.setExperimentalOption("useAutomationExtension", false);
 
-        chromeOptions.addArguments("--no-sandbox"); //To prevent error error:    org.openqa.selenium.WebDriverException: unknown error: session deleted because of page crash
-        chromeOptions.addArguments("--disable-dev-shm-usage"); //To prevent error error:    org.openqa.selenium.WebDriverException: unknown error: session deleted because of page crash
+        addChromeArguments("--no-sandbox"); //To prevent error error:    org.openqa.selenium.WebDriverException: unknown error: session deleted because of page crash
+        addChromeArguments("--disable-dev-shm-usage"); //To prevent error error:    org.openqa.selenium.WebDriverException: unknown error: session deleted because of page crash
 
         if (customUserAgentProvided()) {
-            chromeOptions.addArguments(userAgent);
+            addChromeArguments(userAgent);
         }
 
         if (getEmulateMobile()) {
@@ -144,12 +147,23 @@ public class BrowserProfile {
             chromeOptions.setExperimentalOption("mobileEmulation", mobileEmulation);
         }
         if (allowVideoAccess) {
-            chromeOptions.addArguments("use-fake-ui-for-media-stream");
-            chromeOptions.addArguments("use-fake-device-for-media-stream");
+            addChromeArguments("use-fake-ui-for-media-stream", "use-fake-device-for-media-stream");
         }
         return chromeOptions;
     }
 
+    /**
+     * Options can be built several times (e.g. for the pool key and for the driver), so the arguments are not duplicated.
+     */
+    private void addChromeArguments(String... arguments) {
+        Object current = chromeOptions.asMap().get(ChromeOptions.CAPABILITY) instanceof Map<?, ?> options ? options.get("args") : null;
+        for (String argument : arguments) {
+            if (!(current instanceof List<?> args && args.contains(argument))) {
+                chromeOptions.addArguments(argument);
+            }
+        }
+    }
+
     public FirefoxOptions firefoxOptions() {
         if (firefoxOptions == null) {
             return buildFirefoxOptions();
@@ -204,7 +218,7 @@ public class BrowserProfile {
         selenoidOptions.put("enableVNC", true); //https://aerokube.com/selenoid/latest/#_live_browser_screen_enablevnc
         selenoidOptions.put("name", sessionName);
         selenoidOptions.put("sessionTimeout", "2m");
-        setCustomOptions("selenoid:options", selenoidOptions);
+        setCustomOptions(SELENOID_OPTIONS, selenoidOptions);
 //        caps.setCapability("enableVideo", true); //to enable video recording for tests on selenoid. For using we have to download a separate docker image
     }
 
@@ -257,6 +271,24 @@ public class BrowserProfile {
         this.sessionName = name;
     }
 
+    /**
+     * @returns - key of the profile in the DriverPool: JSON of the fully built capabilities.
+     * Profiles with the same key can share a browser session, so the session name is not a part of the key.
+     */
+    public String getPoolKey() {
+        Map<String, Object> caps = new TreeMap<>(buildCapabilities().asMap());
+        if (caps.get(SELENOID_OPTIONS) instanceof Map<?, ?> selenoidOptions) {
+            Map<Object, Object> withoutName = new TreeMap<>(selenoidOptions);
+            withoutName.remove("name");
+            caps.put(SELENOID_OPTIONS, withoutName);
+        }
+        StringBuilder key = new StringBuilder();
+        try (JsonOutput out = new Json().newOutput(key)) {
+            out.setPrettyPrint(false).write(caps);
+        }
+        return key.toString();
+    }
+
     @Deprecated
     public void addCapabilities(MutableCapabilities caps) {
         getCapabilities().merge(caps);
@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import org.openqa.selenium.JavascriptExecutor;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static java.time.temporal.TemporalAdjusters.*;
@@ -16,6 +18,7 @@ public class Dates {
 
     private static final DateTimeFormatter defaultFormatter = DateTimeFormatter.ofPattern(DEFAULT_PATTERN);
     private static final DateTimeFormatter rangePickerFormatter = DateTimeFormatter.ofPattern(PATTERN_IN_DATE_RANGE_PICKER);
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
 
     private static final String SHORT_FORMAT_PATTERN = "M/d/yy";
     public static final String DEFAULT_TIMEZONE = "UTC"; // API value in InternalAPI
@@ -64,14 +67,19 @@ public class Dates {
     private static String getLocalDateTime(LocalDateTime localDateTime, String pattern, TimeZones timeZone) {
         if (timeZone != null) {
             ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, ZoneId.of(timeZone.getValue()));
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            return zonedDateTime.format(formatter);
+            return zonedDateTime.format(formatter(pattern));
         } else {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            return localDateTime.format(formatter);
+            return localDateTime.format(formatter(pattern));
         }
     }
 
+    /**
+     * Formatters are immutable, so they are created once per pattern.
+     */
+    private static DateTimeFormatter formatter(String pattern) {
+        return FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
     /**
      * @return date from browser in format "MM/dd/yyyy"
      */
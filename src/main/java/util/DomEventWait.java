@@ -0,0 +1,149 @@
+package util;
+
+import lombok.SneakyThrows;
+import org.openqa.selenium.*;
+import util.log.Log;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Waits for an element condition inside the browser: a MutationObserver (plus animation frames for CSS changes)
+ * is injected via <b>executeAsyncScript</b>, so the wait finishes on the DOM change itself
+ * instead of the next 500 ms polling tick.<br/>
+ * Result of the script is only a hint: the final decision is made by the confirmation check on Selenium side,
+ * so the semantic of the wait is the same as for the polling strategy.
+ */
+class DomEventWait {
+
+    /**
+     * Script is resolved earlier than the default driver script timeout (30 seconds),
+     * so the timeouts of the session are never changed. Longer waits are split into several slices.
+     */
+    private static final long MAX_SLICE_MILLIS = 25_000;
+    /**
+     * Pause before the next script when the browser reported the condition, but Selenium did not confirm it.
+     */
+    private static final long NOT_CONFIRMED_PAUSE_MILLIS = 100;
+
+    private static final String SCRIPT =
+            "var locator = arguments[0], using = arguments[1], condition = arguments[2], arg1 = arguments[3], arg2 = arguments[4];" +
+            "var timeout = arguments[5], done = arguments[arguments.length - 1];" +
+            "function find() {" +
+            "  if (using === 'xpath') {" +
+            "    return document.evaluate(locator, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  }" +
+            "  return document.querySelector(locator);" +
+            "}" +
+            "function visible(el) {" +
+            "  if (!el || !el.isConnected) return false;" +
+            "  var style = window.getComputedStyle(el);" +
+            "  if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') return false;" +
+            "  return el.getClientRects().length > 0;" +
+            "}" +
+            "function check() {" +
+            "  var el;" +
+            "  try { el = find(); } catch (e) { return false; }" +
+            "  switch (condition) {" +
+            "    case 'VISIBLE': return visible(el);" +
+            "    case 'INVISIBLE': return !visible(el);" +
+            "    case 'TEXT_PRESENT': return !!el && (el.innerText || el.textContent || '').indexOf(arg1) >= 0;" +
+            "    case 'TEXT_ABSENT': return !el || (visible(el) ? (el.innerText || '') : '') !== arg1;" +
+            "    case 'ATTRIBUTE_CONTAINS':" +
+            "      if (!el) return false;" +
+            "      var value = el.getAttribute(arg1);" +
+            "      if (value === null && el[arg1] !== undefined) value = el[arg1];" +
+            "      return value !== null && value !== undefined && String(value).indexOf(arg2) >= 0;" +
+            "  }" +
+            "  return false;" +
+            "}" +
+            "var finished = false, observer = null, timer = null;" +
+            "function finish(result) {" +
+            "  if (finished) return;" +
+            "  finished = true;" +
+            "  if (observer) observer.disconnect();" +
+            "  if (timer) clearTimeout(timer);" +
+            "  done(result);" +
+            "}" +
+            "if (check()) { finish(true); return; }" +
+            "observer = new MutationObserver(function () { if (check()) finish(true); });" +
+            "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "function frame() {" +
+            "  if (finished) return;" +
+            "  if (check()) { finish(true); return; }" +
+            "  window.requestAnimationFrame(frame);" +
+            "}" +
+            "window.requestAnimationFrame(frame);" +
+            "timer = setTimeout(function () { finish(check()); }, timeout);";
+
+    enum Condition {VISIBLE, INVISIBLE, TEXT_PRESENT, TEXT_ABSENT, ATTRIBUTE_CONTAINS}
+
+    enum Result {
+        MET,
+        TIMED_OUT,
+        /**
+         * Locator or browser is not supported by the script. Polling wait should be used instead.
+         */
+        UNSUPPORTED
+    }
+
+    private final WebDriver driver;
+
+    DomEventWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @param confirmation check on Selenium side. It's executed each time when the script reports that condition is met.
+     */
+    Result await(Condition condition, By by, long timeoutInSeconds, BooleanSupplier confirmation, String... args) {
+        ScriptLocator locator = ScriptLocator.of(by);
+        if (locator == null) {
+            return Result.UNSUPPORTED;
+        }
+        String arg1 = args.length > 0 ? args[0] : null;
+        String arg2 = args.length > 1 ? args[1] : null;
+        long deadline = System.currentTimeMillis() + timeoutInSeconds * 1000;
+        boolean scriptExecuted = false;
+        while (true) {
+            long slice = Math.min(MAX_SLICE_MILLIS, Math.max(0, deadline - System.currentTimeMillis()));
+            Object result;
+            try {
+                result = ((JavascriptExecutor) driver).executeAsyncScript(
+                        SCRIPT, locator.value(), locator.using(), condition.name(), arg1, arg2, slice
+                );
+                scriptExecuted = true;
+            } catch (UnsupportedCommandException | ScriptTimeoutException e) {
+                Log.debug("DOM events wait is not supported (" + e.getClass().getSimpleName() + "). Polling wait is used.");
+                return Result.UNSUPPORTED;
+            } catch (JavascriptException e) {
+                // document was reloaded while the script was running
+                if (!scriptExecuted) {
+                    Log.debug("DOM events wait failed: " + e.getMessage() + ". Polling wait is used.");
+                    return Result.UNSUPPORTED;
+                }
+                result = false;
+            }
+            if (Boolean.TRUE.equals(result)) {
+                if (confirmation.getAsBoolean()) {
+                    return Result.MET;
+                }
+                pause();
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return Result.TIMED_OUT;
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void pause() {
+        Thread.sleep(NOT_CONFIRMED_PAUSE_MILLIS);
+    }
+
+    /**
+     * Only CSS and XPath locators can be resolved by the script.
+     */
+    static boolean supports(By by) {
+        return ScriptLocator.of(by) != null;
+    }
+}
@@ -10,12 +10,17 @@ import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.remote.LocalFileDetector;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.testng.Assert;
+import util.execution.BrowserLogCollector;
 import util.log.Log;
 
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 public class DriverConfig {
@@ -23,12 +28,28 @@ public class DriverConfig {
     public static final String SELENOID_URL = "http://selenium.hub:4444/";
 
     public static final String REMOTE_MACHINE_URL = SELENOID_URL + "wd/hub"; //new server
+    private static final Dimension DEFAULT_BROWSER_SIZE = new Dimension(1300, 1600);
     private static final ThreadLocal<WebDriver> PRIMARY_TL_DRIVER = new ThreadLocal<>();
     private static final ThreadLocal<WebDriver> SECOND_TL_DRIVER = new ThreadLocal<>();
     private static final ThreadLocal<Type> ACTIVE_TYPE = new ThreadLocal<>();
+    private static final ThreadLocal<PendingDriver> PRIMARY_PENDING_DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<PendingDriver> SECOND_PENDING_DRIVER = new ThreadLocal<>();
+
+    private static final boolean ASYNC_CREATION_ENABLED = Boolean.getBoolean("driver.creation.async");
+    private static final ExecutorService DRIVER_CREATION_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "driver-creation");
+        t.setDaemon(true);
+        return t;
+    });
 
     public enum Type {PRIMARY, SECONDARY}
 
+    /**
+     * Driver which is being created in background. It's bound to the thread on the first getDriver() call.
+     */
+    private record PendingDriver(CompletableFuture<WebDriver> future, BrowserProfile profile) {
+    }
+
 
     private static void setThreadLocalDriver(WebDriver driver) {
         switch (getActiveDriverType()) {
@@ -51,6 +72,10 @@ public class DriverConfig {
     }
 
     private void setNewLocalDriver(BrowserProfile bp) {
+        setThreadLocalDriver(buildLocalDriver(bp));
+    }
+
+    private static WebDriver buildLocalDriver(BrowserProfile bp) {
         Log.logInConsole("Util: Start creation of new Local WebDriver");
         String driverPathProperty = "path.mac.webDriver";
         if (OS.isFamilyWindows()) {
@@ -61,26 +86,55 @@ public class DriverConfig {
         System.setProperty(PropertyLoader.loadProperty("webDriver"), file.getAbsolutePath());
         ChromeOptions options = new ChromeOptions();
         options.merge(bp.buildCapabilities());
-        setThreadLocalDriver(new ChromeDriver(options));
+        WebDriver driver = new ChromeDriver(options);
 
         Log.logInConsole("Util: New Local WebDriver is created");
+        return driver;
+    }
+
+    private static void setNewRemoteDriver(BrowserProfile browserProfile) throws Exception {
+        setThreadLocalDriver(buildRemoteDriver(browserProfile));
+        setDefaultBrowserSize();
     }
 
-    private static void setNewRemoteDriver(BrowserProfile browserProfile) throws MalformedURLException {
+    private static RemoteWebDriver buildRemoteDriver(BrowserProfile browserProfile) throws Exception {
+        return DriverCreationThrottle.create(() -> newRemoteDriver(browserProfile));
+    }
+
+    private static RemoteWebDriver newRemoteDriver(BrowserProfile browserProfile) throws MalformedURLException {
         Log.logInConsole("Util: Start creation of new Remote WebDriver. Thread ID: <" + Thread.currentThread().getId() + ">");
         RemoteWebDriver rDriver;
         try {
-            rDriver = new RemoteWebDriver(new URL(REMOTE_MACHINE_URL), browserProfile.buildCapabilities());
+            rDriver = remoteDriver(browserProfile);
         } catch (WebDriverException e) {
             Log.debug("WebDriverException was captured during driver creation. \nDetails: " + e.getMessage());
             e.printStackTrace();
-            rDriver = new RemoteWebDriver(new URL(REMOTE_MACHINE_URL), browserProfile.buildCapabilities());
+            rDriver = remoteDriver(browserProfile);
         }
         rDriver.setFileDetector(new LocalFileDetector()); //for uploading file into remote machine
-        setThreadLocalDriver(rDriver);
         Log.logInConsole("Util: New Remote WebDriver created. Thread ID: <" + Thread.currentThread().getId() + ">.");
-        setDefaultBrowserSize();
+        return rDriver;
+    }
+
+    /**
+     * Commands of the driver are tracked by {@link BrowserLogCollector} when the collector is enabled.
+     */
+    private static RemoteWebDriver remoteDriver(BrowserProfile browserProfile) throws MalformedURLException {
+        URL url = new URL(REMOTE_MACHINE_URL);
+        if (BrowserLogCollector.isEnabled()) {
+            return new RemoteWebDriver(BrowserLogCollector.trackCommands(url), browserProfile.buildCapabilities());
+        }
+        return new RemoteWebDriver(url, browserProfile.buildCapabilities());
+    }
 
+    /**
+     * Creates Selenoid (or local) driver without binding it to the current thread. Used as a session factory by DriverPool.
+     */
+    static WebDriver buildSelenoidDriver(BrowserProfile browserProfile) throws Exception {
+        if (ExecutionVariables.remoteExecution()) {
+            return buildRemoteDriver(browserProfile);
+        }
+        return buildLocalDriver(browserProfile);
     }
 
     private static void createBrowserStackDriver(String browserName, String sessionName) throws Exception {
@@ -117,11 +171,11 @@ public class DriverConfig {
     }
 
     private static boolean primaryDriverCreated() {
-        return PRIMARY_TL_DRIVER.get() != null;
+        return PRIMARY_TL_DRIVER.get() != null || PRIMARY_PENDING_DRIVER.get() != null;
     }
 
     public static boolean secondDriverCreated() {
-        return SECOND_TL_DRIVER.get() != null;
+        return SECOND_TL_DRIVER.get() != null || SECOND_PENDING_DRIVER.get() != null;
     }
 
     public static void clearAllCookies() {
@@ -137,6 +191,9 @@ public class DriverConfig {
 
     private static WebDriver getDriver(Type type) {
         Assert.assertTrue(driverCreated(type), "FAILED in DriverConfig. Getting " + type + " driver when it was not created. Thread <" + Thread.currentThread().getId() + ">");
+        if (getPendingDriver(type) != null) {
+            awaitPendingDriver(type);
+        }
         return switch (type) {
             default -> PRIMARY_TL_DRIVER.get();
             case SECONDARY -> SECOND_TL_DRIVER.get();
@@ -191,27 +248,142 @@ public class DriverConfig {
         createDriver(new BrowserProfile(browser));
     }
 
+    public static boolean asyncCreationEnabled() {
+        return ASYNC_CREATION_ENABLED;
+    }
+
+    /**
+     * Starts driver creation in background and returns immediately.
+     * The driver is bound to the current thread on the first {@link DriverConfig#getDriver()} call,
+     * so the test setup (test data, API calls, etc.) can be executed while the session is being created.
+     */
+    public static CompletableFuture<WebDriver> createDriverAsync(BrowserProfile browserProfile) {
+        if (driverCreated(getActiveDriverType())) {
+            quitAndRemoveActiveDriver();
+        }
+        boolean leaseFromPool = DriverPool.enabled() && isUsingPrimaryDriver();
+        CompletableFuture<WebDriver> future = CompletableFuture.supplyAsync(
+                () -> buildDriver(browserProfile, leaseFromPool),
+                DRIVER_CREATION_EXECUTOR
+        );
+        setPendingDriver(getActiveDriverType(), new PendingDriver(future, browserProfile));
+        Log.logInConsole("WebDriver creation has been started in background.");
+        return future;
+    }
+
+    @SneakyThrows
+    private static WebDriver buildDriver(BrowserProfile browserProfile, boolean leaseFromPool) {
+        if (EnvFactory.browserStackExecution()) {
+            return new BrowserStackDriver().getDriver(browserProfile.getBrowserType().getName(), browserProfile.getSessionName());
+        }
+        WebDriver driver = leaseFromPool
+                ? DriverPool.getInstance().lease(browserProfile)
+                : buildSelenoidDriver(browserProfile);
+        if (leaseFromPool || ExecutionVariables.remoteExecution()) {
+            driver.manage().window().setSize(DEFAULT_BROWSER_SIZE);
+        }
+        return driver;
+    }
+
+    private static PendingDriver getPendingDriver(Type type) {
+        return type == Type.SECONDARY ? SECOND_PENDING_DRIVER.get() : PRIMARY_PENDING_DRIVER.get();
+    }
+
+    private static void setPendingDriver(Type type, PendingDriver pending) {
+        if (type == Type.SECONDARY) {
+            SECOND_PENDING_DRIVER.set(pending);
+        } else {
+            PRIMARY_PENDING_DRIVER.set(pending);
+        }
+    }
+
+    private static PendingDriver removePendingDriver(Type type) {
+        PendingDriver pending = getPendingDriver(type);
+        if (type == Type.SECONDARY) {
+            SECOND_PENDING_DRIVER.remove();
+        } else {
+            PRIMARY_PENDING_DRIVER.remove();
+        }
+        return pending;
+    }
+
+    @SneakyThrows
+    private static void awaitPendingDriver(Type type) {
+        PendingDriver pending = removePendingDriver(type);
+        WebDriver driver;
+        try {
+            driver = pending.future().join();
+        } catch (CompletionException e) {
+            Log.debug("WebDriver was not created in background due to error: " + e.getCause().getMessage());
+            throw e.getCause();
+        }
+        if (type == Type.SECONDARY) {
+            setSecondThreadLocalDriver(driver);
+        } else {
+            setPrimaryThreadLocalDriver(driver);
+        }
+        if (type == getActiveDriverType()) {
+            afterDriverCreated(pending.profile());
+        }
+    }
+
+    /**
+     * Driver which was not used by the thread is quit (or returned to the pool) as soon as it's created.
+     */
+    private static void discardPendingDriver(Type type) {
+        PendingDriver pending = removePendingDriver(type);
+        if (pending != null) {
+            pending.future().thenAccept(DriverConfig::quitOrRelease);
+            Log.debug("WebDriver which was created in background is discarded.");
+        }
+    }
+
     public static void createDriver(BrowserProfile browserProfile) throws Exception {
         if (driverCreated(getActiveDriverType())) {
             quitAndRemoveActiveDriver();
         }
         if (EnvFactory.browserStackExecution()) {
             createBrowserStackDriver(browserProfile.getBrowserType().getName(), browserProfile.getSessionName());
+        } else if (DriverPool.enabled() && isUsingPrimaryDriver()) {
+            setThreadLocalDriver(DriverPool.getInstance().lease(browserProfile));
+            setDefaultBrowserSize();
         } else {
             createSelenoidDriver(browserProfile);
         }
+        afterDriverCreated(browserProfile);
+    }
+
+    private static void afterDriverCreated(BrowserProfile browserProfile) {
         Log.logInConsole("WebDriver successfully created.");
+        BrowserLogCollector.start(getDriver());
         Log.logDriverInfo(browserProfile);
         WaitFactory.setDefaultImplicitlyWait();
         Log.logInConsole("Default waits were set up in the WaitFactory.class" +
-                "\n * Implicit wait: " + WaitFactory.DEFAULT_IMPLICIT_TIME_OUT_30 +
+                "\n * Implicit wait: " + WaitFactory.getDefaultImplicitTimeout() +
                 "\n * Page load timeout: " + WaitFactory.DEFAULT_PAGE_LOAD_TIMEOUT
         );
     }
 
+    /**
+     * Drivers leased from the DriverPool are returned to the pool instead of quit.
+     */
+    private static void quitOrRelease(WebDriver driver) {
+        DriverTimeouts.forget(driver);
+        BrowserLogCollector.stop(driver);
+        if (DriverPool.getInstance().isLeased(driver)) {
+            DriverPool.getInstance().release(driver);
+        } else {
+            driver.quit();
+        }
+    }
+
     private static void quitAndRemoveActiveDriver() {
+        if (getPendingDriver(getActiveDriverType()) != null) {
+            discardPendingDriver(getActiveDriverType());
+            return;
+        }
         try {
-            getDriver().quit();
+            quitOrRelease(getDriver());
         } catch (org.openqa.selenium.WebDriverException e) {
             Log.debug("Following error was returned during driver.quit() \n"
                     + e.getMessage() + "\n"
@@ -226,16 +398,18 @@ public class DriverConfig {
     }
 
     public static void quitDriver(Type type) {
-        getDriver(type).quit();
+        quitOrRelease(getDriver(type));
     }
 
     public static void quitAndRemoveWebDriver() {
+        discardPendingDriver(Type.PRIMARY);
+        discardPendingDriver(Type.SECONDARY);
         try {
             if (primaryDriverCreated()) {
-                getDriver(Type.PRIMARY).quit();
+                quitOrRelease(getDriver(Type.PRIMARY));
             }
             if (secondDriverCreated()) {
-                getDriver(Type.SECONDARY).quit();
+                quitOrRelease(getDriver(Type.SECONDARY));
             }
         } catch (org.openqa.selenium.WebDriverException e) {
             Log.debug("Following error was returned during driver.quit() \n"
@@ -253,7 +427,7 @@ public class DriverConfig {
     }
 
     public static void setDefaultBrowserSize() {
-        resizeBrowser(1300, 1600);
+        resizeBrowser(DEFAULT_BROWSER_SIZE.getWidth(), DEFAULT_BROWSER_SIZE.getHeight());
     }
 
 }
@@ -0,0 +1,64 @@
+package util;
+
+import util.log.Log;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits count of sessions which are created at the same time in the current JVM (fork),
+ * so parallel forks and threads don't stampede the Selenoid hub.<br/>
+ * Limit is configured by system property <b>driver.creation.concurrency</b> (default: 4).
+ * <p>
+ * Collects timing metrics for each creation: time in the queue and session handshake time.
+ */
+public class DriverCreationThrottle {
+
+    private static final int MAX_CONCURRENT_CREATIONS = Integer.getInteger("driver.creation.concurrency", 4);
+    private static final Semaphore PERMITS = new Semaphore(Math.max(1, MAX_CONCURRENT_CREATIONS), true);
+
+    private static final LongAdder CREATIONS = new LongAdder();
+    private static final AtomicLong QUEUED_NANOS = new AtomicLong();
+    private static final AtomicLong MAX_QUEUED_NANOS = new AtomicLong();
+    private static final AtomicLong HANDSHAKE_NANOS = new AtomicLong();
+    private static final AtomicLong MAX_HANDSHAKE_NANOS = new AtomicLong();
+
+    public static <T> T create(Callable<T> creation) throws Exception {
+        long queuedAt = System.nanoTime();
+        PERMITS.acquire();
+        long startedAt = System.nanoTime();
+        try {
+            return creation.call();
+        } finally {
+            PERMITS.release();
+            long finishedAt = System.nanoTime();
+            record(startedAt - queuedAt, finishedAt - startedAt);
+        }
+    }
+
+    private static void record(long queued, long handshake) {
+        CREATIONS.increment();
+        QUEUED_NANOS.addAndGet(queued);
+        MAX_QUEUED_NANOS.accumulateAndGet(queued, Math::max);
+        HANDSHAKE_NANOS.addAndGet(handshake);
+        MAX_HANDSHAKE_NANOS.accumulateAndGet(handshake, Math::max);
+        Log.debug("Driver creation timing. Queued: " + toMillis(queued) + " ms; handshake: " + toMillis(handshake) + " ms.");
+    }
+
+    public static String getStats() {
+        long count = CREATIONS.sum();
+        if (count == 0) {
+            return "Driver creation stats: no drivers were created.";
+        }
+        return "Driver creation stats: created: " + count +
+                "; avg/max queued: " + toMillis(QUEUED_NANOS.get() / count) + "/" + toMillis(MAX_QUEUED_NANOS.get()) + " ms" +
+                "; avg/max handshake: " + toMillis(HANDSHAKE_NANOS.get() / count) + "/" + toMillis(MAX_HANDSHAKE_NANOS.get()) + " ms";
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,345 @@
+package util;
+
+import lombok.Getter;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import util.log.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of WebDriver sessions keyed by {@link BrowserProfile#getPoolKey()}.<br/>
+ * Sessions are leased to a test thread in {@link DriverConfig#createDriver(BrowserProfile)} and returned
+ * (after cleanup) in {@link DriverConfig#quitAndRemoveWebDriver()} instead of being quit.
+ * <p>
+ * The pool is disabled by default. Use the following system properties to configure it:
+ * <ul>
+ *     <li>driver.pool.enabled - enables the pool (default: false)</li>
+ *     <li>driver.pool.size - max sessions per browser profile (default: test.threads)</li>
+ *     <li>driver.pool.warmUp - sessions created at suite start (default: driver.pool.size)</li>
+ *     <li>driver.pool.maxIdleSec - idle sessions older than this are evicted (default: 90, Selenoid kills idle sessions after 2m)</li>
+ *     <li>driver.pool.maxAgeSec - sessions older than this are evicted (default: 1800)</li>
+ *     <li>driver.pool.maxLeases - sessions leased more times than this are evicted (default: 50)</li>
+ *     <li>driver.pool.leaseTimeoutSec - max time to wait for a free session (default: 300)</li>
+ * </ul>
+ */
+public class DriverPool {
+
+    private static final boolean ENABLED = Boolean.getBoolean("driver.pool.enabled");
+    private static final int DEFAULT_SIZE = Integer.getInteger("driver.pool.size", Integer.getInteger("test.threads", 4));
+    private static final int WARM_UP_SIZE = Integer.getInteger("driver.pool.warmUp", DEFAULT_SIZE);
+    private static final long MAX_IDLE_MILLIS = TimeUnit.SECONDS.toMillis(Long.getLong("driver.pool.maxIdleSec", 90));
+    private static final long MAX_AGE_MILLIS = TimeUnit.SECONDS.toMillis(Long.getLong("driver.pool.maxAgeSec", 1800));
+    private static final int MAX_LEASES = Integer.getInteger("driver.pool.maxLeases", 50);
+    private static final long LEASE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(Long.getLong("driver.pool.leaseTimeoutSec", 300));
+    private static final long LEASE_POLL_MILLIS = 1000;
+
+    private final SessionFactory factory;
+    private final Consumer<WebDriver> resetter;
+    private final int maxSize;
+    private final Map<String, KeyedPool> pools = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> leased = Collections.synchronizedMap(new IdentityHashMap<>());
+    @Getter
+    private final Stats stats = new Stats();
+
+    @FunctionalInterface
+    public interface SessionFactory {
+        WebDriver create(BrowserProfile profile) throws Exception;
+    }
+
+    private static class InstanceHolder {
+        private static final DriverPool INSTANCE = new DriverPool(DriverConfig::buildSelenoidDriver, DriverPool::resetSession, DEFAULT_SIZE);
+    }
+
+    /**
+     * @param factory  - creates new sessions. Stub factories can be used to test the pool without Selenoid hub.
+     * @param resetter - cleans the session before it is returned to the pool.
+     * @param maxSize  - max count of sessions (idle + leased) per browser profile.
+     */
+    public DriverPool(SessionFactory factory, Consumer<WebDriver> resetter, int maxSize) {
+        this.factory = factory;
+        this.resetter = resetter;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public static DriverPool getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    public static int warmUpSize() {
+        return WARM_UP_SIZE;
+    }
+
+    /**
+     * Creates sessions in background threads. The method doesn't wait for the sessions creation.
+     */
+    public void warmUp(BrowserProfile profile, int count) {
+        KeyedPool pool = getPool(profile);
+        int toCreate = Math.min(count, maxSize);
+        if (toCreate <= 0) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(toCreate, r -> {
+            Thread t = new Thread(r, "driver-pool-warm-up");
+            t.setDaemon(true);
+            return t;
+        });
+        int started = 0;
+        for (int i = 0; i < toCreate; i++) {
+            if (!pool.permits.tryAcquire()) {
+                break;
+            }
+            started++;
+            executor.submit(() -> {
+                try {
+                    pool.idle.offerLast(createSession(pool, profile));
+                } catch (Throwable e) {
+                    pool.permits.release();
+                    Log.debug("DriverPool: Unable to warm up session for <" + pool.key + ">. Details: " + e.getMessage());
+                }
+            });
+        }
+        executor.shutdown();
+        Log.logInConsole("DriverPool: warming up " + started + " session(s) for <" + pool.key + ">.");
+    }
+
+    /**
+     * Returns idle healthy session for the profile or creates a new one if the pool is not full.
+     * Otherwise, waits till any session is released.
+     */
+    public WebDriver lease(BrowserProfile profile) throws Exception {
+        KeyedPool pool = getPool(profile);
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + LEASE_TIMEOUT_MILLIS;
+        while (true) {
+            PooledSession session = pool.idle.pollFirst();
+            if (session == null && pool.permits.tryAcquire()) {
+                stats.misses.increment();
+                try {
+                    session = createSession(pool, profile);
+                } catch (Throwable e) {
+                    pool.permits.release();
+                    throw e;
+                }
+            } else if (session == null) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) {
+                    throw new WebDriverException("DriverPool: no free session for <" + pool.key + "> during "
+                            + TimeUnit.MILLISECONDS.toSeconds(LEASE_TIMEOUT_MILLIS) + " sec. " + stats);
+                }
+                session = pool.idle.pollFirst(Math.min(left, LEASE_POLL_MILLIS), TimeUnit.MILLISECONDS);
+                if (session == null) {
+                    continue;
+                }
+                if (!usable(session)) {
+                    evict(session);
+                    continue;
+                }
+                stats.hits.increment();
+            } else if (!usable(session)) {
+                evict(session);
+                continue;
+            } else {
+                stats.hits.increment();
+            }
+            session.leases++;
+            leased.put(session.driver, session);
+            stats.recordLeaseWait(System.nanoTime() - start);
+            Log.debug("DriverPool: session leased (" + pool.key + "; lease #" + session.leases + ").");
+            return session.driver;
+        }
+    }
+
+    public boolean isLeased(WebDriver driver) {
+        return driver != null && leased.containsKey(driver);
+    }
+
+    /**
+     * Cleans the session and returns it to the pool. Unhealthy or aged sessions are quit.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            resetter.accept(driver);
+        } catch (Throwable e) {
+            Log.debug("DriverPool: unable to reset session. It will be evicted. Details: " + e.getMessage());
+            evict(session);
+            return;
+        }
+        if (expired(session)) {
+            evict(session);
+            return;
+        }
+        session.releasedAt = System.currentTimeMillis();
+        session.pool.idle.offerFirst(session);
+    }
+
+    /**
+     * Quits all idle sessions. Leased sessions are quit on release.
+     */
+    public void shutdown() {
+        for (KeyedPool pool : pools.values()) {
+            PooledSession session;
+            while ((session = pool.idle.pollFirst()) != null) {
+                evict(session);
+            }
+        }
+        Log.logInConsole("DriverPool: shut down. " + stats);
+    }
+
+    private KeyedPool getPool(BrowserProfile profile) {
+        return pools.computeIfAbsent(profile.getPoolKey(), k -> new KeyedPool(k, maxSize));
+    }
+
+    private PooledSession createSession(KeyedPool pool, BrowserProfile profile) throws Exception {
+        long start = System.nanoTime();
+        WebDriver driver = factory.create(profile);
+        stats.recordCreation(System.nanoTime() - start);
+        return new PooledSession(pool, driver);
+    }
+
+    private boolean usable(PooledSession session) {
+        if (expired(session) || System.currentTimeMillis() - session.releasedAt > MAX_IDLE_MILLIS) {
+            return false;
+        }
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (Throwable e) {
+            Log.debug("DriverPool: unhealthy session detected. Details: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean expired(PooledSession session) {
+        return session.leases >= MAX_LEASES || System.currentTimeMillis() - session.createdAt > MAX_AGE_MILLIS;
+    }
+
+    private void evict(PooledSession session) {
+        stats.evictions.increment();
+        session.pool.permits.release();
+        quitQuietly(session.driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Throwable e) {
+            Log.debug("DriverPool: error during driver.quit(): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Default session cleanup: extra windows, cookies, local and session storage.
+     */
+    private static void resetSession(WebDriver driver) {
+        driver.switchTo().defaultContent();
+        Browser.closeAllWindowsExceptCurrent(driver);
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        driver.navigate().to("about:blank");
+    }
+
+    private static class KeyedPool {
+        private final String key;
+        private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+        private final Semaphore permits;
+
+        private KeyedPool(String key, int maxSize) {
+            this.key = key;
+            this.permits = new Semaphore(maxSize);
+        }
+    }
+
+    private static class PooledSession {
+        private final KeyedPool pool;
+        private final WebDriver driver;
+        private final long createdAt = System.currentTimeMillis();
+        private long releasedAt = createdAt;
+        private int leases = 0;
+
+        private PooledSession(KeyedPool pool, WebDriver driver) {
+            this.pool = pool;
+            this.driver = driver;
+        }
+    }
+
+    public static class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder creations = new LongAdder();
+        private final AtomicLong creationNanos = new AtomicLong();
+        private final AtomicLong maxCreationNanos = new AtomicLong();
+        private final AtomicLong leaseWaitNanos = new AtomicLong();
+        private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+        private void recordCreation(long nanos) {
+            creations.increment();
+            creationNanos.addAndGet(nanos);
+            maxCreationNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private void recordLeaseWait(long nanos) {
+            leaseWaitNanos.addAndGet(nanos);
+            maxLeaseWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getLeases() {
+            return hits.sum() + misses.sum();
+        }
+
+        public double getHitRate() {
+            long leases = getLeases();
+            return leases == 0 ? 0 : (double) hits.sum() / leases;
+        }
+
+        public long getEvictions() {
+            return evictions.sum();
+        }
+
+        public long getAvgCreationMillis() {
+            long count = creations.sum();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(creationNanos.get() / count);
+        }
+
+        public long getAvgLeaseWaitMillis() {
+            long leases = getLeases();
+            return leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos.get() / leases);
+        }
+
+        @Override
+        public String toString() {
+            List<String> rows = new ArrayList<>();
+            rows.add("leases: " + getLeases());
+            rows.add("reuse hit rate: " + String.format("%.1f%%", getHitRate() * 100));
+            rows.add("evictions: " + getEvictions());
+            rows.add("sessions created: " + creations.sum());
+            rows.add("avg/max creation: " + getAvgCreationMillis() + "/" + TimeUnit.NANOSECONDS.toMillis(maxCreationNanos.get()) + " ms");
+            rows.add("avg/max lease wait: " + getAvgLeaseWaitMillis() + "/" + TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get()) + " ms");
+            return "Pool stats: " + String.join("; ", rows);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package util;
+
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the last implicit wait and page load timeout which were sent to each driver of the current thread,
+ * so the timeout commands are sent to the hub only when the value is really changed.<br/>
+ * <p>
+ * Zero implicit wait mode (system property <b>driver.implicitWait.zero</b>) keeps the implicit wait at 0 during
+ * the whole session, so explicit waits don't need to toggle it and element lookups are done by explicit waits only.
+ */
+public class DriverTimeouts {
+
+    private static final boolean ZERO_IMPLICIT_WAIT = Boolean.getBoolean("driver.implicitWait.zero");
+
+    private static final ThreadLocal<Map<WebDriver, State>> STATES = ThreadLocal.withInitial(WeakHashMap::new);
+    private static final ThreadLocal<Counter> COUNTER = ThreadLocal.withInitial(Counter::new);
+
+    public static boolean zeroImplicitWaitMode() {
+        return ZERO_IMPLICIT_WAIT;
+    }
+
+    public static void setImplicitWait(WebDriver driver, Duration duration) {
+        State state = getState(driver);
+        if (duration.equals(state.implicitWait)) {
+            COUNTER.get().saved++;
+            return;
+        }
+        send(driver, timeouts -> timeouts.implicitlyWait(duration));
+        state.implicitWait = duration;
+    }
+
+    public static void setPageLoadTimeout(WebDriver driver, Duration duration) {
+        State state = getState(driver);
+        if (duration.equals(state.pageLoadTimeout)) {
+            COUNTER.get().saved++;
+            return;
+        }
+        send(driver, timeouts -> timeouts.pageLoadTimeout(duration));
+        state.pageLoadTimeout = duration;
+    }
+
+    /**
+     * Drops the known state of the driver. Should be called when the driver is quit or passed to another thread.
+     */
+    public static void forget(WebDriver driver) {
+        STATES.get().remove(driver);
+    }
+
+    public static void resetCounters() {
+        COUNTER.remove();
+    }
+
+    public static long getSentCommands() {
+        return COUNTER.get().sent;
+    }
+
+    public static long getSavedCommands() {
+        return COUNTER.get().saved;
+    }
+
+    public static String getStats() {
+        return "Timeout commands: sent: " + getSentCommands() + "; saved: " + getSavedCommands();
+    }
+
+    private static State getState(WebDriver driver) {
+        return STATES.get().computeIfAbsent(Objects.requireNonNull(driver), d -> new State());
+    }
+
+    private static void send(WebDriver driver, Consumer<WebDriver.Timeouts> command) {
+        try {
+            command.accept(driver.manage().timeouts());
+            COUNTER.get().sent++;
+        } catch (RuntimeException e) {
+            // the actual state of the driver is unknown after the failed command
+            forget(driver);
+            throw e;
+        }
+    }
+
+    private static class State {
+        private Duration implicitWait;
+        private Duration pageLoadTimeout;
+    }
+
+    private static class Counter {
+        private long sent;
+        private long saved;
+    }
+}
@@ -4,13 +4,46 @@ package util;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
-import lombok.SneakyThrows;
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import util.execution.TestExecutionManager;
 import util.log.Log;
 
-public class DriverWatcher extends Thread implements AutoCloseable {
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the driver session alive while the thread waits for the long operation (e.g. API request).
+ * <p>
+ * All started watchers are registered in {@link TestExecutionManager} and are pinged by the single shared monitor thread:
+ * each tick submits the lightweight command (current window handle) of every registered driver to the small pool of pingers,
+ * so a hung session doesn't delay the pings of the others. The next ping of the driver is not submitted till the previous
+ * one is completed. Watching is finished when the watcher is closed, the ping fails or the attempts limit is reached.
+ * <p>
+ * System property: <b>driver.watcher.interval</b> - milliseconds between pings (default: 5000).
+ */
+public class DriverWatcher implements AutoCloseable {
+    private static final long INTERVAL_MILLIS = Math.max(100, Integer.getInteger("driver.watcher.interval", 5000));
+    private static final int ATTEMPTS_LIMIT = 60;
+    private static final int PINGER_THREADS = 4;
+
+    private static final ScheduledExecutorService MONITOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "driver-watcher");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final ExecutorService PINGERS = newPingers();
+    private static final LongAdder PINGS = new LongAdder();
+
+    static {
+        MONITOR.scheduleWithFixedDelay(DriverWatcher::pingAll, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
 
     @Setter
     @Getter
@@ -20,42 +53,78 @@ public class DriverWatcher extends Thread implements AutoCloseable {
     @Getter
     private String watchedThreadId = "<unknown>";
 
-    private boolean watch = false;
-    private static final int ATTEMPTS_LIMIT = 60;
-
+    private final AtomicBoolean pinging = new AtomicBoolean();
+    private int attempt = 0;
 
-    @SuppressWarnings("BusyWait")
-    @SneakyThrows
-    @Override
-    public void run() {
+    /**
+     * Registers the watcher in the shared monitor.
+     */
+    public void start() {
+        attempt = 0;
         TestExecutionManager.addDriverWatcher(getWatchedThreadId(), this);
-        watch = true;
         Log.debug("Driver watching has been started for driver from thread #" + getWatchedThreadId() + ".");
-        int attempt = 0;
-        while (watch) {
-            if (attempt > ATTEMPTS_LIMIT) {
-                watch = false;
-                Log.debug("Driver Watching limit is achieved for driver from thread #" + getWatchedThreadId() + ".");
-                return;
-            }
-            Log.debug("Watching... Attempt #" + attempt);
-            try {
-                this.getDriver().findElement(By.tagName("body"));
-            }
-            finally {
-                this.close();
-                this.interrupt();
+    }
+
+    private static ExecutorService newPingers() {
+        AtomicInteger number = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(PINGER_THREADS, PINGER_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "driver-watcher-ping-" + number.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static void pingAll() {
+        for (DriverWatcher watcher : TestExecutionManager.getDriverWatchers().values()) {
+            if (watcher.pinging.compareAndSet(false, true)) {
+                PINGERS.execute(watcher::pingInBackground);
             }
-            attempt++;
-            sleep(500);
         }
-        Log.debug("Driver watching has been finished for thread #" + getWatchedThreadId() + ".");
+    }
+
+    private void pingInBackground() {
+        try {
+            ping();
+        } catch (Throwable e) {
+            Log.debug("Driver watching has been finished for thread #" + getWatchedThreadId() + " due to error: " + e.getMessage());
+            deregister();
+        } finally {
+            pinging.set(false);
+        }
+    }
+
+    private void ping() {
+        if (++attempt > ATTEMPTS_LIMIT) {
+            Log.debug("Driver Watching limit is achieved for driver from thread #" + getWatchedThreadId() + ".");
+            deregister();
+            return;
+        }
+        getDriver().getWindowHandle();
+        PINGS.increment();
+    }
+
+    private boolean deregister() {
+        return TestExecutionManager.removeDriverWatcher(getWatchedThreadId(), this);
     }
 
     @Override
     public void close() {
-        watch = false;
-        TestExecutionManager.removeDriverWatchers(getWatchedThreadId());
-        Log.debug("Driver watching has been closed.");
+        if (deregister()) {
+            Log.debug("Driver watching has been closed.");
+        }
+    }
+
+    public static int getActiveWatches() {
+        return TestExecutionManager.getDriverWatchers().size();
+    }
+
+    public static long getPings() {
+        return PINGS.sum();
+    }
+
+    public static String getStats() {
+        return "Driver watchers: active: " + getActiveWatches() + "; pings: " + getPings();
     }
 }
@@ -0,0 +1,30 @@
+package util;
+
+import org.openqa.selenium.By;
+
+/**
+ * Locator which can be resolved by JavaScript inside the browser: CSS selector or XPath.
+ *
+ * @param using "css selector" or "xpath"
+ */
+public record ScriptLocator(String using, String value) {
+    public static final String XPATH = "xpath";
+    public static final String CSS_SELECTOR = "css selector";
+
+    /**
+     * @return script locator or null if the locator can't be resolved by the script (link text, custom By, etc.)
+     */
+    public static ScriptLocator of(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        if (!(parameters.value() instanceof String value)) {
+            return null;
+        }
+        return switch (parameters.using()) {
+            case CSS_SELECTOR, XPATH -> new ScriptLocator(parameters.using(), value);
+            default -> null;
+        };
+    }
+}
@@ -36,12 +36,40 @@ public class WaitFactory {
     private static final long TEMP_IMPLICIT_BEFORE_EXPLICIT_WAIT = 0;
     public static final long EMAIL_RECEIVING_TIMEOUT = 120;
 
+    /**
+     * Strategy of the element waits (visibility, invisibility, text and attribute conditions).<br/>
+     * DOM_EVENTS resolves the wait by MutationObserver in the browser and falls back to POLLING
+     * when the locator or the browser is not supported.<br/>
+     * Default strategy is configured by system property <b>wait.strategy</b> (default: POLLING).
+     */
+    public enum Strategy {POLLING, DOM_EVENTS}
+
+    private static final Strategy DEFAULT_STRATEGY =
+            Strategy.valueOf(System.getProperty("wait.strategy", Strategy.POLLING.name()).toUpperCase());
+
+    private final Strategy strategy;
+
+    public WaitFactory() {
+        this(DEFAULT_STRATEGY);
+    }
+
+    public WaitFactory(Strategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
 
     public static void setDefaultImplicitlyWait() {
-        setImplicitWait(ofSeconds(DEFAULT_IMPLICIT_TIME_OUT_30));
+        setImplicitWait(ofSeconds(getDefaultImplicitTimeout()));
         setPageLoadTimeOut(DEFAULT_PAGE_LOAD_TIMEOUT);
     }
 
+    static long getDefaultImplicitTimeout() {
+        return DriverTimeouts.zeroImplicitWaitMode() ? 0 : DEFAULT_IMPLICIT_TIME_OUT_30;
+    }
+
     private static void setDefaultImplicitlyWaitDuringError(Throwable e) {
         try {
             setDefaultImplicitlyWait();
@@ -51,14 +79,11 @@ public class WaitFactory {
     }
 
     public static void setPageLoadTimeOut(long pageLoadTimeOut) {
-        DriverConfig.getDriver().manage().timeouts().pageLoadTimeout(ofSeconds(pageLoadTimeOut));
+        DriverTimeouts.setPageLoadTimeout(DriverConfig.getDriver(), ofSeconds(pageLoadTimeOut));
     }
 
     private static void setImplicitWait(Duration duration) {
-        DriverConfig.getDriver()
-                .manage()
-                .timeouts()
-                .implicitlyWait(duration);
+        DriverTimeouts.setImplicitWait(DriverConfig.getDriver(), duration);
     }
 
     private void waitUntil(Wait<WebDriver> wait, ExpectedCondition<Boolean> isTrue) {
@@ -139,6 +164,50 @@ public class WaitFactory {
         }
     }
 
+    /**
+     * @return -1 if the condition was met by DOM events wait, otherwise timeout in seconds which is left for the polling wait
+     * (DOM events wait can be found unsupported after some time of waiting).
+     */
+    private long waitByDomEvents(DomEventWait.Condition condition, By by, ExpectedCondition<?> confirmation, long timeout, String errorMsg, String... args) {
+        if (strategy != Strategy.DOM_EVENTS || !DomEventWait.supports(by)) {
+            return timeout;
+        }
+        long start = System.currentTimeMillis();
+        WebDriver driver = Objects.requireNonNull(DriverConfig.getDriver());
+        setImplicitWait(ofSeconds(TEMP_IMPLICIT_BEFORE_EXPLICIT_WAIT));
+        Throwable exc = null;
+        try {
+            DomEventWait.Result result = new DomEventWait(driver)
+                    .await(condition, by, timeout, () -> isConfirmed(confirmation, driver), args);
+            if (result == DomEventWait.Result.TIMED_OUT) {
+                throw new TimeoutException(errorMsg + " (tried for " + timeout + " second(s) with DOM events wait)");
+            }
+            if (result == DomEventWait.Result.MET) {
+                return -1;
+            }
+            long leftMillis = timeout * 1000 - (System.currentTimeMillis() - start);
+            return Math.max(0, (leftMillis + 999) / 1000);
+        } catch (Throwable e) {
+            exc = e;
+            throw e;
+        } finally {
+            if (exc != null) {
+                setDefaultImplicitlyWaitDuringError(exc);
+            } else {
+                setDefaultImplicitlyWait();
+            }
+        }
+    }
+
+    private static boolean isConfirmed(ExpectedCondition<?> condition, WebDriver driver) {
+        try {
+            Object result = condition.apply(driver);
+            return result != null && !Boolean.FALSE.equals(result);
+        } catch (NotFoundException | StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
     public FluentWait<WebDriver> getFluentWait(long timeout) {
         return getFluentWait(timeout, DEFAULT_SLEEP_MILLIS_500);
     }
@@ -184,33 +253,47 @@ public class WaitFactory {
     }
 
     public void waitInvisibilityOfElementWithText(By by, String text, long timeout, String errorMSg) {
+        ExpectedCondition<Boolean> condition = ExpectedConditions.invisibilityOfElementWithText(by, text);
+        long pollingTimeout = waitByDomEvents(DomEventWait.Condition.TEXT_ABSENT, by, condition, timeout, errorMSg, text);
+        if (pollingTimeout < 0) {
+            return;
+        }
         waitUntil(
-                ExpectedConditions.invisibilityOfElementWithText(by, text),
-                timeout,
+                condition,
+                pollingTimeout,
                 errorMSg
         );
     }
 
     public void waitTillAttributeContains(By by, String attribute, String value, long timeout, String errorMSg) {
+        ExpectedCondition<Boolean> condition = ExpectedConditions.attributeContains(by, attribute, value);
+        long pollingTimeout = waitByDomEvents(DomEventWait.Condition.ATTRIBUTE_CONTAINS, by, condition, timeout, errorMSg, attribute, value);
+        if (pollingTimeout < 0) {
+            return;
+        }
         waitUntil(
-                ExpectedConditions.attributeContains(by, attribute, value),
-                timeout,
+                condition,
+                pollingTimeout,
                 errorMSg
         );
     }
 
     public void waitInvisibilityOf(By locator, long waitSec, String errorMsg) {
+        long pollingTimeout = waitByDomEvents(DomEventWait.Condition.INVISIBLE, locator, ExpectedConditions.invisibilityOfElementLocated(locator), waitSec, errorMsg);
+        if (pollingTimeout < 0) {
+            return;
+        }
         try {
             waitUntil(
                     ExpectedConditions.invisibilityOfElementLocated(locator),
-                    waitSec,
+                    pollingTimeout,
                     errorMsg
             );
         } catch (NullPointerException e) {
             e.printStackTrace();
             waitUntil(
                     ExpectedConditions.invisibilityOfElementLocated(locator),
-                    waitSec,
+                    pollingTimeout,
                     errorMsg
             );
         }
@@ -242,9 +325,14 @@ public class WaitFactory {
     }
 
     public void waitUntilTextToBePresentInElement(By by, String text, long timeoutInSeconds, String errorMsg) {
+        ExpectedCondition<Boolean> condition = ExpectedConditions.textToBePresentInElementLocated(by, text);
+        long pollingTimeout = waitByDomEvents(DomEventWait.Condition.TEXT_PRESENT, by, condition, timeoutInSeconds, errorMsg, text);
+        if (pollingTimeout < 0) {
+            return;
+        }
         waitUntil(
-                ExpectedConditions.textToBePresentInElementLocated(by, text),
-                timeoutInSeconds,
+                condition,
+                pollingTimeout,
                 errorMsg
         );
     }
@@ -255,11 +343,15 @@ public class WaitFactory {
     }
 
     public ElementImpl waitUntilVisibilityOfElementLocated(By by, long timeoutInSeconds, String errorMsg) {
-        waitUntilElement(
-                ExpectedConditions.visibilityOfElementLocated(by),
-                timeoutInSeconds,
-                errorMsg
-        );
+        ExpectedCondition<WebElement> condition = ExpectedConditions.visibilityOfElementLocated(by);
+        long pollingTimeout = waitByDomEvents(DomEventWait.Condition.VISIBLE, by, condition, timeoutInSeconds, errorMsg);
+        if (pollingTimeout >= 0) {
+            waitUntilElement(
+                    condition,
+                    pollingTimeout,
+                    errorMsg
+            );
+        }
         return new ElementImpl(by, by.toString());
     }
 
@@ -281,6 +373,9 @@ public class WaitFactory {
     }
 
     public static List<WebElement> waitChildElementsForElement(ElementImpl parentElement, By childrenLocator) {
+        if (DriverTimeouts.zeroImplicitWaitMode()) {
+            return new WaitFactory().findElements(parentElement.getWebElement(), childrenLocator, TIMEOUT_2);
+        }
         setImplicitWait(ofSeconds(TIMEOUT_2));
         try {
             return parentElement.getWebElement().findElements(childrenLocator);
@@ -480,6 +575,16 @@ public class WaitFactory {
     }
 
     public List<WebElement> findElements(WebElement parent, By by, long waitTime) {
+        if (DriverTimeouts.zeroImplicitWaitMode()) {
+            try {
+                return getWait(waitTime).until(driver -> {
+                    List<WebElement> elements = parent.findElements(by);
+                    return elements.isEmpty() ? null : elements;
+                });
+            } catch (TimeoutException e) {
+                return new ArrayList<>();
+            }
+        }
         setImplicitWait(ofSeconds(waitTime));
         try {
             return parent.findElements(by);
@@ -493,6 +598,14 @@ public class WaitFactory {
     }
 
     public ElementImpl findElement(WebElement parent, By elementLctr, long timeout, String elementName) {
+        if (DriverTimeouts.zeroImplicitWaitMode()) {
+            try {
+                WebElement element = getWait(timeout).until(driver -> parent.findElement(elementLctr));
+                return new ElementImpl(element, elementName);
+            } catch (TimeoutException e) {
+                throw new NoSuchElementException("Unable to locate element '" + elementName + "' by " + elementLctr, e);
+            }
+        }
         setImplicitWait(Duration.ofSeconds(timeout));
         try {
             return new ElementImpl(parent.findElement(elementLctr), elementName);
@@ -3,20 +3,55 @@ package util.execution;
 import io.restassured.response.Response;
 import util.log.ApiLogger;
 
+import java.util.concurrent.Callable;
+
 public class ApiThreadResponse {
     private static final ThreadLocal<Boolean> FAILED_DURING_API_CALL = new ThreadLocal<>();
 
-    private static final ThreadLocal<RequestData> REQUEST_DATA = new ThreadLocal<>();
+    private static final ThreadLocal<Slot> REQUEST_DATA = ThreadLocal.withInitial(Slot::new);
+    /**
+     * Slot of the test thread which is used by the async request executed in another thread.
+     */
+    private static final ThreadLocal<Slot> ADOPTED_REQUEST_DATA = new ThreadLocal<>();
 
     public record RequestData(String url, String body, Response response) {
     }
 
+    private static class Slot {
+        private volatile RequestData data;
+    }
+
+    private static Slot slot() {
+        Slot adopted = ADOPTED_REQUEST_DATA.get();
+        return adopted != null ? adopted : REQUEST_DATA.get();
+    }
+
+    /**
+     * Requests of the task are attributed to the current thread, even if the task is executed in another thread.
+     */
+    public static <T> Callable<T> attributeToCurrentThread(Callable<T> task) {
+        Slot origin = slot();
+        return () -> {
+            Slot previous = ADOPTED_REQUEST_DATA.get();
+            ADOPTED_REQUEST_DATA.set(origin);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    ADOPTED_REQUEST_DATA.remove();
+                } else {
+                    ADOPTED_REQUEST_DATA.set(previous);
+                }
+            }
+        };
+    }
+
     public static synchronized void set(String url, String reqBody, Response resp) {
-        REQUEST_DATA.set(new RequestData(url, reqBody, resp));
+        slot().data = new RequestData(url, reqBody, resp);
     }
 
     public static synchronized RequestData getRequestData() {
-        return REQUEST_DATA.get();
+        return slot().data;
     }
 
     public static synchronized Response getResponse() {
@@ -0,0 +1,238 @@
+package util.execution;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import util.log.Log;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * Drains the browser console logs of the driver in background, so the logs are not lost when the driver buffer is cleared
+ * and the final fetch of the failed test is small. Collected entries are kept in the bounded buffer of the current test
+ * and are analysed by {@link TestResultAnalyzer} once, when the test reads the logs.
+ * <p>
+ * Background fetch is paused while the test thread issues commands to the driver: the driver is built with the command
+ * executor of {@link #trackCommands(URL)}, which shares one lock between the commands of the test thread and the fetch.
+ * <p>
+ * System properties: <b>browser.logs.collector</b> (default: false), <b>browser.logs.collector.interval</b> - milliseconds
+ * between fetches (default: 1000) and <b>browser.logs.collector.capacity</b> - entries per test (default: 10000).
+ */
+public class BrowserLogCollector {
+    private static final boolean ENABLED = Boolean.getBoolean("browser.logs.collector");
+    private static final long INTERVAL_MILLIS = Math.max(100, Integer.getInteger("browser.logs.collector.interval", 1000));
+    private static final int CAPACITY = Math.max(1, Integer.getInteger("browser.logs.collector.capacity", 10000));
+    private static final long QUIET_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static final ScheduledExecutorService SCHEDULER = ENABLED ? Executors.newScheduledThreadPool(2, r -> {
+        Thread t = new Thread(r, "browser-log-collector");
+        t.setDaemon(true);
+        return t;
+    }) : null;
+    private static final Map<WebDriver, BrowserLogCollector> COLLECTORS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> COLLECTING = ThreadLocal.withInitial(() -> false);
+
+    private final WebDriver driver;
+    private final Thread owner = Thread.currentThread();
+    private final CommandTracker tracker;
+    private final ArrayDeque<LogEntry> entries = new ArrayDeque<>();
+    private ScheduledFuture<?> task;
+    private LogEntries snapshot;
+    private long dropped;
+
+    private BrowserLogCollector(WebDriver driver, CommandTracker tracker) {
+        this.driver = driver;
+        this.tracker = tracker;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return executor of the remote driver which commands are tracked by the collector
+     */
+    public static CommandExecutor trackCommands(URL remoteAddress) {
+        return new CommandTracker(new HttpCommandExecutor(remoteAddress));
+    }
+
+    /**
+     * Starts the collection of the driver logs. Does nothing if the collector is disabled
+     * or the driver was not built with the executor of {@link #trackCommands(URL)}.
+     */
+    public static void start(WebDriver driver) {
+        if (!ENABLED || !(driver instanceof RemoteWebDriver remote) || COLLECTORS.containsKey(driver)) {
+            return;
+        }
+        if (!(remote.getCommandExecutor() instanceof CommandTracker tracker)) {
+            Log.debug("Browser logs are not collected in background: commands of the driver are not tracked.");
+            return;
+        }
+        BrowserLogCollector collector = new BrowserLogCollector(driver, tracker);
+        COLLECTORS.put(driver, collector);
+        collector.task = SCHEDULER.scheduleWithFixedDelay(collector::collectInBackground, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        Log.debug("Browser logs are collected in background every " + INTERVAL_MILLIS + " ms.");
+    }
+
+    /**
+     * Stops the collection. Should be called when the driver is quit or returned to the pool.
+     */
+    public static void stop(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        BrowserLogCollector collector = COLLECTORS.remove(driver);
+        if (collector != null) {
+            collector.task.cancel(false);
+        }
+    }
+
+    /**
+     * @return null if the logs of the driver are not collected
+     */
+    public static BrowserLogCollector of(WebDriver driver) {
+        return driver == null ? null : COLLECTORS.get(driver);
+    }
+
+    /**
+     * Drops the entries of the finished test from the collectors of the drivers which were created by the current thread.
+     */
+    public static void endTest() {
+        if (!ENABLED) {
+            return;
+        }
+        for (BrowserLogCollector collector : COLLECTORS.values()) {
+            if (collector.owner == Thread.currentThread()) {
+                collector.clear();
+            }
+        }
+    }
+
+    /**
+     * Fetches the rest of the logs from the driver, so the errors of the last action are included.
+     * The same instance is returned if nothing new was fetched.
+     *
+     * @return all entries collected for the current test
+     */
+    public LogEntries collectNow() {
+        tracker.lock.lock();
+        try {
+            fetch();
+        } finally {
+            tracker.lock.unlock();
+        }
+        return getEntries();
+    }
+
+    /**
+     * @return entries collected for the current test without a command to the driver.
+     * The same instance is returned till new entries are collected, so its classification stays cached.
+     */
+    public synchronized LogEntries getEntries() {
+        if (snapshot == null) {
+            List<LogEntry> all = new ArrayList<>(entries.size() + 1);
+            if (dropped > 0) {
+                all.add(new LogEntry(Level.WARNING, entries.isEmpty() ? System.currentTimeMillis() : entries.peekFirst().getTimestamp(),
+                        dropped + " earlier browser log entries were dropped (buffer size = " + CAPACITY + ")"));
+            }
+            all.addAll(entries);
+            snapshot = new LogEntries(all);
+        }
+        return snapshot;
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        dropped = 0;
+        snapshot = null;
+    }
+
+    /**
+     * The tick is skipped when the test thread holds the lock of the tracker or has used the driver recently.
+     */
+    private void collectInBackground() {
+        if (!tracker.lock.tryLock()) {
+            return; // the test thread is using the driver
+        }
+        COLLECTING.set(true);
+        try {
+            if (!tracker.recentlyUsed()) {
+                fetch();
+            }
+        } catch (Throwable e) {
+            Log.debug("Browser logs were not collected in background: " + e.getMessage());
+        } finally {
+            COLLECTING.set(false);
+            tracker.lock.unlock();
+        }
+    }
+
+    /**
+     * Called under the lock of the tracker, which is taken before the monitor of the collector.
+     * Fetch and append are done under the monitor, so the entries of the concurrent fetches keep their order.
+     */
+    private synchronized void fetch() {
+        List<LogEntry> batch = driver.manage().logs().get(LogType.BROWSER).getAll();
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (LogEntry entry : batch) {
+            if (entries.size() == CAPACITY) {
+                entries.pollFirst();
+                dropped++;
+            }
+            entries.addLast(entry);
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Tracks the commands which are sent to the driver by the test thread. Commands of the test thread and
+     * the background fetch hold the same lock, so they never overlap. Commands of the collector are not tracked.
+     */
+    private static class CommandTracker implements CommandExecutor {
+        private final CommandExecutor delegate;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastCommandNanos = System.nanoTime();
+
+        private CommandTracker(CommandExecutor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            if (COLLECTING.get()) {
+                return delegate.execute(command);
+            }
+            lock.lock();
+            try {
+                return delegate.execute(command);
+            } finally {
+                lastCommandNanos = System.nanoTime();
+                lock.unlock();
+            }
+        }
+
+        private boolean recentlyUsed() {
+            return System.nanoTime() - lastCommandNanos < QUIET_NANOS;
+        }
+    }
+}
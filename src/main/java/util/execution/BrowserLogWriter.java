@@ -0,0 +1,126 @@
+package util.execution;
+
+import org.openqa.selenium.logging.LogEntry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the browser log entries to the file: each entry is encoded straight to the buffered channel,
+ * so the whole log is never built in memory. Rows have the same format as before: <i>{date} {level} {message}</i>.
+ * <p>
+ * System properties: <b>browser.logs.gzip</b> (default: false), <b>browser.logs.level</b> - minimal level of the written entries
+ * (default: ALL) and <b>browser.logs.maxChars</b> - the rest of the entries are skipped when the cap is reached (default: 0 - unlimited).
+ */
+class BrowserLogWriter {
+    static final boolean GZIP = Boolean.getBoolean("browser.logs.gzip");
+    private static final Level LEVEL = Level.parse(System.getProperty("browser.logs.level", "ALL").toUpperCase());
+    private static final long MAX_CHARS = Long.getLong("browser.logs.maxChars", 0);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String ROW_END = "\r\n";
+
+    /**
+     * Same format as {@link java.util.Date#toString()}.
+     */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", Locale.US)
+            .withZone(ZoneId.systemDefault());
+
+    private final Level level;
+    private final long maxChars;
+    private long second = Long.MIN_VALUE;
+    private String date;
+
+    /**
+     * @param filtered number of the entries which are below the level
+     * @param truncated number of the entries which were skipped due to the size cap
+     */
+    record Stats(int written, int filtered, int truncated) {
+    }
+
+    BrowserLogWriter() {
+        this(LEVEL, MAX_CHARS);
+    }
+
+    BrowserLogWriter(Level level, long maxChars) {
+        this.level = level;
+        this.maxChars = maxChars;
+    }
+
+    static String extension() {
+        return GZIP ? ".txt.gz" : ".txt";
+    }
+
+    Stats write(Iterable<LogEntry> entries, Path file, boolean gzip) throws IOException {
+        int written = 0;
+        int filtered = 0;
+        int truncated = 0;
+        long chars = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer writer = newWriter(channel, gzip)) {
+            for (LogEntry entry : entries) {
+                if (entry.getLevel().intValue() < level.intValue()) {
+                    filtered++;
+                    continue;
+                }
+                if (truncated > 0) {
+                    truncated++;
+                    continue;
+                }
+                String date = formatDate(entry.getTimestamp());
+                String levelName = entry.getLevel().getName();
+                String message = entry.getMessage();
+                long rowChars = date.length() + levelName.length() + message.length() + 2 + ROW_END.length();
+                if (maxChars > 0 && chars + rowChars > maxChars) {
+                    truncated++;
+                    continue;
+                }
+                writer.write(date);
+                writer.write(' ');
+                writer.write(levelName);
+                writer.write(' ');
+                writer.write(message);
+                writer.write(ROW_END);
+                chars += rowChars;
+                written++;
+            }
+            if (truncated > 0) {
+                writer.write("... " + truncated + " more entries were not written: size cap of " + maxChars + " chars is reached." + ROW_END);
+            }
+        }
+        return new Stats(written, filtered, truncated);
+    }
+
+    private static Writer newWriter(FileChannel channel, boolean gzip) throws IOException {
+        OutputStream out = Channels.newOutputStream(channel);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Entries are logged by bursts, so the date is formatted once per second.
+     */
+    private String formatDate(long timestamp) {
+        long s = Math.floorDiv(timestamp, 1000);
+        if (s != second) {
+            second = s;
+            date = DATE_FORMAT.format(Instant.ofEpochMilli(timestamp));
+        }
+        return date;
+    }
+}
@@ -0,0 +1,195 @@
+package util.execution;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.openqa.selenium.logging.LogEntries;
+import org.testng.ITestResult;
+import util.Browser;
+import util.log.ApiLogger;
+import util.log.ExtentManager;
+import util.log.Log;
+import util.screenshot.ScreenshotOutput;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Artifacts of the failed test. Captures which use the driver are done back to back in the test thread,
+ * then the files are written, the logs are analysed and the screenshot is attached to the report by the bounded executor.
+ * {@link #await()} is the barrier which should be passed before the test is failed in the report.
+ * <p>
+ * System property: <b>failure.artifacts.threads</b> - threads of the executor (default: 2). If 0, all artifacts are done in the test thread.
+ */
+class FailureArtifacts {
+    private static final int THREADS = Integer.getInteger("failure.artifacts.threads", 2);
+    private static final long AWAIT_TIMEOUT_SECONDS = 60;
+    private static final ExecutorService EXECUTOR = THREADS > 0 ? newExecutor() : null;
+
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+    private final List<Artifact<?>> artifacts = new ArrayList<>();
+    private final ScreenshotOutput screenshot = new ScreenshotOutput();
+    private String url;
+    private String browserInfo;
+    private Artifact<LogsRecorder.Info> browserLogs;
+    private Artifact<TestResultAnalyzer.Analysis> analysis;
+    private Artifact<String> apiData;
+
+    private static ExecutorService newExecutor() {
+        AtomicInteger number = new AtomicInteger();
+        return new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(THREADS * 16), r -> {
+            Thread t = new Thread(r, "failure-artifacts-" + number.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Makes the captures of the current driver and starts the processing of the artifacts.
+     *
+     * @param requestData data of the failed API call. Can be null.
+     */
+    static FailureArtifacts capture(ITestResult result, String name, ApiThreadResponse.RequestData requestData) {
+        FailureArtifacts a = new FailureArtifacts();
+        ExtentTest test = ExtentManager.getTest();
+        String testClass = TestProfile.getCurrentTestClass();
+
+        File screenshotFile = a.timed("screenshot", a.screenshot::capture);
+        a.url = a.timed("url", ListenerHelper::getURL);
+        LogEntries entries = a.timed("browser logs", FailureArtifacts::fetchBrowserLogs);
+        a.browserInfo = a.timed("browser info", Browser::getBrowserInfo);
+
+        if (screenshotFile != null) {
+            a.submit("screenshot file", () -> a.screenshot.save(screenshotFile, name, true, test));
+        }
+        a.browserLogs = a.submit("browser logs file", () -> entries == null
+                ? LogsRecorder.failedInfo(new IllegalStateException("Browser logs were not fetched."))
+                : new LogsRecorder().writeBrowserLogsToFile(result, entries));
+        a.analysis = a.submit("logs analysis", () -> new TestResultAnalyzer().analyse(entries, testClass));
+        a.apiData = a.submit("api data", () -> requestData == null ? "" : ApiLogger.buildApiResponse(requestData));
+        return a;
+    }
+
+    private static LogEntries fetchBrowserLogs() {
+        try {
+            return Browser.getConsoleLogs();
+        } catch (Throwable e) {
+            Log.debug("Unable to catch browser log due to error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Waits till all artifacts are processed.
+     */
+    void await() {
+        for (Artifact<?> artifact : artifacts) {
+            try {
+                artifact.get();
+            } catch (Exception e) {
+                Log.debug("Failure artifact '" + artifact.name + "' is not available: " + e);
+            }
+            timings.put(artifact.name, artifact.millis);
+        }
+        Log.debug("Failure artifacts (ms): " + timings);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    String getBrowserInfo() {
+        return browserInfo;
+    }
+
+    String getScreenshotPath() {
+        return screenshot.getPath();
+    }
+
+    LogsRecorder.Info getBrowserLogs() {
+        try {
+            return browserLogs.get();
+        } catch (Exception e) {
+            return LogsRecorder.failedInfo(e);
+        }
+    }
+
+    /**
+     * Applies the analysis to the test. Should be called from the test thread.
+     */
+    String applyAnalysis() throws Exception {
+        return new TestResultAnalyzer().apply(analysis.get());
+    }
+
+    String getApiData() {
+        try {
+            return apiData.get();
+        } catch (Exception e) {
+            return "API data is not available due to error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * @return milliseconds spent on each artifact
+     */
+    Map<String, Long> getTimings() {
+        return timings;
+    }
+
+    private <T> T timed(String name, Callable<T> capture) {
+        long start = System.currentTimeMillis();
+        try {
+            return capture.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            timings.put(name, System.currentTimeMillis() - start);
+        }
+    }
+
+    private <T> Artifact<T> submit(String name, Callable<T> task) {
+        Artifact<T> artifact = new Artifact<>(name, task);
+        artifacts.add(artifact);
+        return artifact;
+    }
+
+    private static class Artifact<T> {
+        private final String name;
+        private final Future<T> future;
+        private volatile long millis = -1;
+
+        private Artifact(String name, Callable<T> task) {
+            this.name = name;
+            Callable<T> timed = () -> {
+                long start = System.currentTimeMillis();
+                try {
+                    return task.call();
+                } finally {
+                    millis = System.currentTimeMillis() - start;
+                }
+            };
+            if (EXECUTOR == null) {
+                FutureTask<T> inline = new FutureTask<>(timed);
+                inline.run();
+                this.future = inline;
+            } else {
+                this.future = EXECUTOR.submit(timed);
+            }
+        }
+
+        private T get() throws InterruptedException, ExecutionException, TimeoutException {
+            return future.get(AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -3,13 +3,11 @@ package util.execution;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
-import util.Browser;
 import util.DriverConfig;
-import util.log.ApiLogger;
 import util.log.Log;
-import util.screenshot.ScreenshotOutput;
 
 import java.util.Objects;
+import java.util.concurrent.Callable;
 
 class ListenerHelper {
 
@@ -26,27 +24,27 @@ class ListenerHelper {
         }
     }
 
-    static String buildTestArtifacts(String url, ScreenshotOutput screenshotOutput, LogsRecorder.Info logsInfo, ApiThreadResponse.RequestData requestData) {
-        String apiData = "";
-        if (requestData != null) {
-            apiData = ApiLogger.buildApiResponse(requestData);
-        }
+    static String buildTestArtifacts(String url, String screenshotPath, String browserInfo, String analysedLogs, LogsRecorder.Info testLogs, String apiData) {
         return "\r\n   ***  *** TEST ARTIFACTS  ***  *** \r\n" +
                 "Test failed on URL: " + url + "\r\n\n" +
-                "Screenshot: " + screenshotOutput.getPath() + "\r\n" +
-                "Browser info: " + Browser.getBrowserInfo() + "\r\n" +
-                buildMsgForAnalysedLogs(logsInfo) + "\r\n" +
+                "Screenshot: " + screenshotPath + "\r\n" +
+                "Browser info: " + browserInfo + "\r\n" +
+                analysedLogs + "\r\n" +
+                buildMsgForTestLogs(testLogs) +
                 apiData
                 ;
     }
 
-    static String buildMsgForAnalysedLogs(LogsRecorder.Info info) {
+    /**
+     * @param analysis errors detected in the logs
+     */
+    static String buildMsgForAnalysedLogs(LogsRecorder.Info info, Callable<String> analysis) {
         if (!DriverConfig.driverCreated()) {
             return "Browser logs are not available since browser was not created.";
         }
         try {
             return "File with browser logs: " + info.getFullPath() + "\r\n" +
-                    new TestResultAnalyzer().analiseLogsResult(info.getEntries());
+                    TestResultAnalyzer.frame(analysis.call());
         } catch (Throwable e) {
             Log.debug("Error during getting of the browsers logs:" + e.getMessage());
             e.printStackTrace();
@@ -54,6 +52,16 @@ class ListenerHelper {
         }
     }
 
+    /**
+     * @param testLogs null if the test logs were not captured
+     */
+    static String buildMsgForTestLogs(LogsRecorder.Info testLogs) {
+        if (testLogs == null) {
+            return "";
+        }
+        return "\r\nFile with test logs: " + testLogs.getFullPath() + "\r\n";
+    }
+
     static void updateOriginalMessage(ITestResult result, String newMessage) {
         try {
             FieldUtils.writeField(result.getThrowable(), "detailMessage", newMessage, true);
@@ -0,0 +1,197 @@
+package util.execution;
+
+import com.google.gson.Gson;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import util.log.Log;
+
+import java.io.FileReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Classifies the browser log entries by server and JS errors in a single pass of {@link PatternMatcher}.
+ * Classification is cached per {@link LogEntries} instance, so the repeated queries don't scan the logs again.
+ * <p>
+ * Patterns and ignore rules are loaded from <i>/config/log-analysis.json</i> or from the file defined by
+ * <b>log.analysis.config</b> system property. The defaults of {@link TestResultAnalyzer} are used if the config is not available.
+ */
+class LogClassifier {
+    private static final String DEFAULT_CONFIG = "/config/log-analysis.json";
+    private static final LogClassifier INSTANCE = new LogClassifier(loadConfig());
+
+    private final List<String> serverErrors;
+    private final List<IgnoreRule> ignoreRules;
+    private final PatternMatcher matcher;
+    private final int jsFrom;
+    private final Map<LogEntries, Classification> cache = Collections.synchronizedMap(new WeakHashMap<>());
+
+    enum Errors {SERVER, JS}
+
+    /**
+     * Matched errors are ignored if the message starts with {@code startsWith} and contains {@code contains}.
+     * Both conditions are optional.
+     */
+    record IgnoreRule(Errors errors, String startsWith, String contains) {
+        boolean ignores(Errors matched, String msg) {
+            return (errors == null ? Errors.SERVER : errors) == matched
+                    && (startsWith == null || msg.startsWith(startsWith))
+                    && (contains == null || msg.contains(contains));
+        }
+    }
+
+    record Config(List<String> serverErrors, List<String> jsErrors, List<IgnoreRule> ignore) {
+    }
+
+    LogClassifier(Config config) {
+        this.serverErrors = List.copyOf(config.serverErrors());
+        this.ignoreRules = config.ignore() == null ? List.of() : List.copyOf(config.ignore());
+        List<String> patterns = new ArrayList<>(serverErrors);
+        patterns.addAll(config.jsErrors());
+        this.jsFrom = serverErrors.size();
+        this.matcher = new PatternMatcher(patterns);
+    }
+
+    static LogClassifier get() {
+        return INSTANCE;
+    }
+
+    private static Config loadConfig() {
+        String file = System.getProperty("log.analysis.config", "");
+        try (Reader reader = file.isEmpty() ? classpathReader() : new FileReader(file, StandardCharsets.UTF_8)) {
+            Config config = new Gson().fromJson(reader, Config.class);
+            if (config.serverErrors() != null && config.jsErrors() != null) {
+                return config;
+            }
+            Log.debug("Patterns are not defined in the log analysis config. Defaults are used.");
+        } catch (Exception e) {
+            Log.debug("Log analysis config is not available (" + e + "). Defaults are used.");
+        }
+        return TestResultAnalyzer.defaultConfig();
+    }
+
+    private static Reader classpathReader() {
+        InputStream is = LogClassifier.class.getResourceAsStream(DEFAULT_CONFIG);
+        if (is == null) {
+            throw new IllegalStateException(DEFAULT_CONFIG + " is not found");
+        }
+        return new InputStreamReader(is, StandardCharsets.UTF_8);
+    }
+
+    Classification classify(LogEntries entries) {
+        Classification classification = cache.get(entries);
+        if (classification == null) {
+            classification = new Classification(entries.getAll());
+            cache.put(entries, classification);
+        }
+        return classification;
+    }
+
+    /**
+     * @return reported server error of the message or empty string
+     */
+    String serverError(String msg) {
+        long[] found = matcher.match(msg);
+        return serverError(msg, found, 0);
+    }
+
+    boolean isJsError(String msg) {
+        return jsError(msg, matcher.match(msg), 0);
+    }
+
+    private String serverError(String msg, long[] found, int offset) {
+        for (int i = 0; i < jsFrom; i++) {
+            if (PatternMatcher.contains(found, offset, i)) {
+                return ignored(Errors.SERVER, msg) ? "" : serverErrors.get(i);
+            }
+        }
+        return "";
+    }
+
+    private boolean jsError(String msg, long[] found, int offset) {
+        for (int i = jsFrom; i < matcher.size(); i++) {
+            if (PatternMatcher.contains(found, offset, i)) {
+                return !ignored(Errors.JS, msg);
+            }
+        }
+        return false;
+    }
+
+    private boolean ignored(Errors errors, String msg) {
+        for (IgnoreRule rule : ignoreRules) {
+            if (rule.ignores(errors, msg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Patterns matched in each entry. Ignore rules are applied only when the errors are reported.
+     */
+    class Classification {
+        private final List<LogEntry> entries;
+        private final int words = matcher.words();
+        private final long[] found;
+        private final boolean anyMatched;
+
+        private Classification(List<LogEntry> entries) {
+            this.entries = entries;
+            this.found = new long[entries.size() * words];
+            boolean matched = false;
+            for (int i = 0; i < entries.size(); i++) {
+                matched |= matcher.match(entries.get(i).getMessage(), found, i * words);
+            }
+            this.anyMatched = matched;
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        /**
+         * @return server error of the entry or empty string
+         */
+        String serverError(int entry) {
+            return anyMatched ? LogClassifier.this.serverError(entries.get(entry).getMessage(), found, entry * words) : "";
+        }
+
+        boolean jsError(int entry) {
+            return anyMatched && LogClassifier.this.jsError(entries.get(entry).getMessage(), found, entry * words);
+        }
+
+        boolean hasJsError() {
+            for (int i = 0; anyMatched && i < entries.size(); i++) {
+                if (jsError(i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Checks the matches of the configured server error. Ignore rules are not applied.
+         *
+         * @return null if the error is not configured
+         */
+        Boolean hasServerError(String error) {
+            int pattern = serverErrors.indexOf(error);
+            if (pattern < 0) {
+                return null;
+            }
+            for (int i = 0; anyMatched && i < entries.size(); i++) {
+                if (PatternMatcher.contains(found, i * words, pattern)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -3,22 +3,21 @@ package util.execution;
 import lombok.Getter;
 import lombok.Setter;
 import org.openqa.selenium.logging.LogEntries;
-import org.openqa.selenium.logging.LogEntry;
 import org.testng.ITestResult;
 import util.Browser;
 import util.PropertyLoader;
+import util.log.Log;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.Date;
 
 public class LogsRecorder {
     private static final String REPORT_DIR = PropertyLoader.loadExtentRepoetProp("extent.reporter.spark.path");
     private static final String LOGS_DIR = "/browser-logs/";
+    private static final String TEST_LOGS_DIR = "/test-logs/";
     static final String PATH_TO_SAVE = REPORT_DIR + LOGS_DIR;
 
     @Getter
@@ -40,46 +39,58 @@ public class LogsRecorder {
     }
 
     Info recordBrowserLogsToFile(ITestResult result) {
+        LogEntries entries;
+        try {
+            entries = Browser.getConsoleLogs();
+        } catch (Throwable e) {
+            return failedInfo(e);
+        }
+        return writeBrowserLogsToFile(result, entries);
+    }
+
+    /**
+     * Writes the logs which were fetched before. Doesn't use the driver.
+     */
+    Info writeBrowserLogsToFile(ITestResult result, LogEntries entries) {
         String cName = result.getMethod().getTestClass().getName();
         String mName = result.getMethod().getMethodName();
         String fileName = cName + "." + mName;
         Info info = new Info();
         try {
-            LogEntries entries = Browser.getConsoleLogs();
             info.setEntries(entries);
-            String logs = readLogs(entries);
-            return writeFile(fileName, logs, info);
+            return streamBrowserLogs(fileName, entries, info);
         } catch (Throwable e) {
-            String error = "Unable to catch browser log due to error: " + e.getMessage();
-            info.setErrorMsg(error);
-            info.setRelativePath(error);
-            info.setFullPath(error);
-            return info;
+            return failedInfo(e);
         }
     }
 
-    private String readLogs(LogEntries logEntries) {
-        StringBuilder out = new StringBuilder();
-        for (LogEntry entry : logEntries) {
-            String logRow = new Date(entry.getTimestamp()) + " " + entry.getLevel() + " " + entry.getMessage() + "\r\n";
-            out.append(logRow);
-        }
-        return out.toString();
+    static Info failedInfo(Throwable e) {
+        Info info = new Info();
+        String error = "Unable to catch browser log due to error: " + e.getMessage();
+        info.setErrorMsg(error);
+        info.setRelativePath(error);
+        info.setFullPath(error);
+        return info;
+    }
+
+    /**
+     * Writes the records of {@link util.log.Log} captured for the test.
+     */
+    Info recordTestLogsToFile(ITestResult result, String text) {
+        String fileName = result.getMethod().getTestClass().getName() + "." + result.getMethod().getMethodName();
+        return writeFile(TEST_LOGS_DIR, fileName, text, new Info());
     }
 
     /**
      * @returns path to the saved file.
      */
-    private Info writeFile(String fileName, String text, Info info) {
+    private Info writeFile(String logsDir, String fileName, String text, Info info) {
 
+        String pathToSave = REPORT_DIR + logsDir;
         String fileNameWithExtention = fileName + ".txt";
-        String filePath = PATH_TO_SAVE + fileNameWithExtention;
-        Path dirPath = Paths.get(PATH_TO_SAVE);
-        File dir = new File(PATH_TO_SAVE);
+        String filePath = pathToSave + fileNameWithExtention;
         try {
-            if (!dir.exists()) {
-                Files.createDirectory(dirPath);
-            }
+            createDir(pathToSave);
             try (
                     FileOutputStream fos = new FileOutputStream(filePath);
                     OutputStreamWriter osw = new OutputStreamWriter(fos, StandardCharsets.UTF_8);
@@ -88,18 +99,48 @@ public class LogsRecorder {
                 writer.write(text);
             }
             info.setFullPath(filePath);
-            info.setRelativePath("." + LOGS_DIR + fileNameWithExtention);
+            info.setRelativePath("." + logsDir + fileNameWithExtention);
             return info;
         } catch (IOException e) {
-            String error = "Not able to create Browser Logs file due to exception: " + e + "\r\n" +
-                    Arrays.toString(e.getStackTrace());
-            info.setErrorMsg(error);
-            info.setFullPath(error);
-            info.setRelativePath(error);
+            return fileNotCreated(e, info);
+        }
+    }
+
+    /**
+     * Browser logs are streamed to the file by {@link BrowserLogWriter}, so the whole log is never kept as text.
+     */
+    private Info streamBrowserLogs(String fileName, LogEntries entries, Info info) {
+        String pathToSave = REPORT_DIR + LOGS_DIR;
+        String fileNameWithExtention = fileName + BrowserLogWriter.extension();
+        String filePath = pathToSave + fileNameWithExtention;
+        try {
+            createDir(pathToSave);
+            BrowserLogWriter.Stats stats = new BrowserLogWriter().write(entries, Paths.get(filePath), BrowserLogWriter.GZIP);
+            if (stats.filtered() > 0 || stats.truncated() > 0) {
+                Log.debug("Browser logs: " + stats.written() + " entries were written, " + stats.filtered() + " were filtered by level, "
+                        + stats.truncated() + " were truncated (" + fileNameWithExtention + ")");
+            }
+            info.setFullPath(filePath);
+            info.setRelativePath("." + LOGS_DIR + fileNameWithExtention);
             return info;
+        } catch (IOException e) {
+            return fileNotCreated(e, info);
         }
     }
 
+    private static void createDir(String path) throws IOException {
+        Files.createDirectories(Paths.get(path)); // doesn't fail when the directory is created by other thread
+    }
+
+    private static Info fileNotCreated(IOException e, Info info) {
+        String error = "Not able to create Logs file due to exception: " + e + "\r\n" +
+                Arrays.toString(e.getStackTrace());
+        info.setErrorMsg(error);
+        info.setFullPath(error);
+        info.setRelativePath(error);
+        return info;
+    }
+
     public LogEntries getBrowserLogs() {
         return TestProfile.getBrowserLogs();
     }
@@ -0,0 +1,152 @@
+package util.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton: finds all patterns which are contained in the text in a single pass.
+ * <p>
+ * Chars of the patterns are mapped to the compact alphabet and the failure links are resolved into the transition table,
+ * so each char of the text is one table lookup. Matched patterns are returned as the bit set of their indexes.
+ */
+class PatternMatcher {
+    private final int patterns;
+    private final int words;
+    private final char[] alphabet = new char[Character.MAX_VALUE + 1];
+    private final int width;
+    private final int[] transitions;
+    private final long[][] outputs;
+
+    PatternMatcher(List<String> patterns) {
+        this.patterns = patterns.size();
+        this.words = Math.max(1, (this.patterns + 63) >>> 6);
+        int symbols = 0;
+        for (String p : patterns) {
+            if (p.isEmpty()) {
+                throw new IllegalArgumentException("Pattern can't be empty.");
+            }
+            for (int i = 0; i < p.length(); i++) {
+                if (alphabet[p.charAt(i)] == 0) {
+                    alphabet[p.charAt(i)] = (char) ++symbols;
+                }
+            }
+        }
+        this.width = symbols + 1; // symbol 0 is any char which is not in the patterns
+
+        List<int[]> trie = new ArrayList<>();
+        List<long[]> out = new ArrayList<>();
+        trie.add(new int[width]);
+        out.add(null);
+        for (int n = 0; n < patterns.size(); n++) {
+            String p = patterns.get(n);
+            int state = 0;
+            for (int i = 0; i < p.length(); i++) {
+                int symbol = alphabet[p.charAt(i)];
+                if (trie.get(state)[symbol] == 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(new int[width]);
+                    out.add(null);
+                }
+                state = trie.get(state)[symbol];
+            }
+            if (out.get(state) == null) {
+                out.set(state, new long[words]);
+            }
+            out.get(state)[n >>> 6] |= 1L << n;
+        }
+
+        int states = trie.size();
+        this.transitions = new int[states * width];
+        this.outputs = out.toArray(new long[0][]);
+        int[] fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int s = 0; s < width; s++) {
+            int next = trie.get(0)[s];
+            transitions[s] = next;
+            if (next != 0) {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            mergeOutputs(state, fail[state]);
+            for (int s = 0; s < width; s++) {
+                int next = trie.get(state)[s];
+                if (next == 0) {
+                    transitions[state * width + s] = transitions[fail[state] * width + s];
+                } else {
+                    transitions[state * width + s] = next;
+                    fail[next] = transitions[fail[state] * width + s];
+                    queue.add(next);
+                }
+            }
+        }
+        // transitions point to the rows of the table; the rows of the states with outputs are inverted
+        for (int i = 0; i < transitions.length; i++) {
+            int next = transitions[i];
+            transitions[i] = outputs[next] == null ? next * width : ~(next * width);
+        }
+    }
+
+    private void mergeOutputs(int state, int failState) {
+        long[] inherited = outputs[failState];
+        if (inherited == null) {
+            return;
+        }
+        if (outputs[state] == null) {
+            outputs[state] = inherited;
+            return;
+        }
+        long[] merged = Arrays.copyOf(outputs[state], words);
+        for (int i = 0; i < words; i++) {
+            merged[i] |= inherited[i];
+        }
+        outputs[state] = merged;
+    }
+
+    int size() {
+        return patterns;
+    }
+
+    /**
+     * @return bit set of the indexes of the patterns contained in the text
+     */
+    long[] match(CharSequence text) {
+        long[] found = new long[words];
+        match(text, found, 0);
+        return found;
+    }
+
+    /**
+     * Sets the bits of the matched patterns into {@code found} starting with the word {@code offset}.
+     *
+     * @return true if any pattern was matched
+     */
+    boolean match(CharSequence text, long[] found, int offset) {
+        boolean matched = false;
+        int row = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            row = transitions[row + alphabet[text.charAt(i)]];
+            if (row < 0) {
+                row = ~row;
+                long[] out = outputs[row / width];
+                matched = true;
+                for (int w = 0; w < words; w++) {
+                    found[offset + w] |= out[w];
+                }
+            }
+        }
+        return matched;
+    }
+
+    int words() {
+        return words;
+    }
+
+    static boolean contains(long[] found, int offset, int pattern) {
+        return (found[offset + (pattern >>> 6)] & (1L << pattern)) != 0;
+    }
+}
@@ -11,6 +11,7 @@ import util.screenshot.ScreenshotOutput;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TestExecutionManager {
 
@@ -20,7 +21,7 @@ public class TestExecutionManager {
     private static final HashMap<String, UserSession> USER_SESSIONS = new HashMap<>();
     private static final ArrayList<String> CRITICAL_EXECUTION_ERRORS = new ArrayList<>();
 
-    private static final HashMap<String, DriverWatcher> DRIVER_WATCHERS = new HashMap<>();
+    private static final Map<String, DriverWatcher> DRIVER_WATCHERS = new ConcurrentHashMap<>();
 
     @Getter
     @Setter
@@ -57,7 +58,7 @@ public class TestExecutionManager {
         DRIVER_WATCHERS.put(threadId, dw);
     }
 
-    public static HashMap<String, DriverWatcher> getDriverWatchers() {
+    public static Map<String, DriverWatcher> getDriverWatchers() {
         return DRIVER_WATCHERS;
     }
 
@@ -65,6 +66,15 @@ public class TestExecutionManager {
         DRIVER_WATCHERS.remove(id);
     }
 
+    /**
+     * Removes the watcher only if it is still registered for the thread.
+     *
+     * @return true if the watcher was removed
+     */
+    public static boolean removeDriverWatcher(String id, DriverWatcher dw) {
+        return DRIVER_WATCHERS.remove(id, dw);
+    }
+
     private static void deletePreviousFiles(boolean indicator, String pathName) {
         if (indicator) {
             deleteFilesFormDir(pathName);
@@ -81,7 +91,7 @@ public class TestExecutionManager {
         }
     }
 
-    static void addCriticalError(String err) {
+    static synchronized void addCriticalError(String err) {
         CRITICAL_EXECUTION_ERRORS.add(err);
     }
 
@@ -1,14 +1,19 @@
 package util.execution;
 
+import api.resources.HttpClientPool;
 import com.aventstack.extentreports.AnalysisStrategy;
 import com.aventstack.extentreports.Status;
 import org.testng.*;
 import org.testng.internal.ConstructorOrMethod;
+import util.DriverTimeouts;
+import util.DriverWatcher;
 import util.log.ExtentManager;
 import util.log.ExtentService;
+import util.log.ExtentSteps;
 import util.log.Log;
 import util.log.MarkupHelper;
-import util.screenshot.ScreenshotOutput;
+import util.log.ReportJournal;
+import util.log.TestLogCapture;
 
 public class TestListener implements ITestListener, IInvokedMethodListener {
     private String methodName;
@@ -22,6 +27,17 @@ public class TestListener implements ITestListener, IInvokedMethodListener {
 
     @Override
     public synchronized void onFinish(ITestContext context) {
+        if (HttpClientPool.isEnabled()) {
+            Log.debug(HttpClientPool.getStats());
+        }
+        if (DriverWatcher.getPings() > 0) {
+            Log.debug(DriverWatcher.getStats());
+        }
+        Log.flush();
+        if (ReportJournal.isEnabled()) {
+            ReportJournal.requestRender();
+            return;
+        }
         ExtentService.getInstance().flush();
     }
 
@@ -29,6 +45,10 @@ public class TestListener implements ITestListener, IInvokedMethodListener {
     public void beforeInvocation(IInvokedMethod method, ITestResult result) {
         Log.debug("Before invocation for " + method.getTestMethod().getMethodName());
         IInvokedMethodListener.super.beforeInvocation(method, result);
+        if (method.isTestMethod()) {
+            DriverTimeouts.resetCounters();
+            TestLogCapture.start();
+        }
 
         if (ListenerHelper.shouldBeLoggedInReport(result)) { //workaround to not shown the beforeMethod/afterMethod in report
             ExtentManager.createMethod(result, true);
@@ -37,21 +57,33 @@ public class TestListener implements ITestListener, IInvokedMethodListener {
 
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        try {
+            recordAfterInvocation(method, result);
+        } finally {
+            if (method.isTestMethod()) {
+                BrowserLogCollector.endTest(); //next test starts with the empty logs buffer
+            }
+        }
+    }
+
+    private void recordAfterInvocation(IInvokedMethod method, ITestResult result) {
         IInvokedMethodListener.super.afterInvocation(method, result);
 
         className = method.getTestMethod().getTestClass().getName();
         methodName = method.getTestMethod().getMethodName();
+        ExtentSteps.endTest(failed(method, result));
+        if (method.isTestMethod()) {
+            Log.debug(DriverTimeouts.getStats() + " (" + getMethodName() + ")");
+        }
+        LogsRecorder.Info testLogs = recordTestLogs(method, result);
 
         if (apiListenerEnabled(method)) {
-            afterInvocationForApiTest(method, result);
+            afterInvocationForApiTest(method, result, testLogs);
             return;
         }
         if (failed(method, result)) {
             try {
                 String originalMessage = result.getThrowable().getMessage();
-                ScreenshotOutput screenshot = new ScreenshotOutput().makeScreenshot(getClassName() + "." + getMethodName());
-                String url = ListenerHelper.getURL();
-                LogsRecorder.Info info = new LogsRecorder().recordBrowserLogsToFile(result);
 
                 ApiThreadResponse.RequestData requestData = null;
                 boolean apiCallFailed = ApiThreadResponse.failedDuringApiCall();
@@ -60,24 +92,34 @@ public class TestListener implements ITestListener, IInvokedMethodListener {
                     ApiThreadResponse.setFailedDuringApiCall(false);
                 }
 
+                FailureArtifacts artifacts = FailureArtifacts.capture(result, getClassName() + "." + getMethodName(), requestData);
+                artifacts.await(); //all artifacts should be in the report before the test is failed
+                String url = artifacts.getUrl();
+                LogsRecorder.Info info = artifacts.getBrowserLogs();
+
                 String ta = ListenerHelper.buildTestArtifacts(
                         url,
-                        screenshot,
-                        info,
-                        requestData);
+                        artifacts.getScreenshotPath(),
+                        artifacts.getBrowserInfo(),
+                        ListenerHelper.buildMsgForAnalysedLogs(info, artifacts::applyAnalysis),
+                        testLogs,
+                        artifacts.getApiData());
                 String newMessage = getFailedMsg(originalMessage) + ta;
                 ListenerHelper.updateOriginalMessage(result, newMessage);
 
-                String msg = MarkupHelper.buildCommonFailedInfoMsg(url, info, requestData);
+                String msg = MarkupHelper.buildCommonFailedInfoMsg(url, info, testLogs, requestData)
+                        + MarkupHelper.buildArtifactTimingsMsg(artifacts.getTimings());
                 ExtentManager.getTest().log(Status.INFO, msg); //log info before the failing the test
             } finally {
                 ExtentManager.fail(result, true);
+                ReportJournal.append(ExtentManager.getTest(result));
             }
             return;
         }
 
         if (ListenerHelper.shouldBeLoggedInReport(result)) { //workaround to not shown the beforeMethod/afterMethod in report
             ExtentManager.log(result, true);
+            ReportJournal.append(ExtentManager.getTest(result));
         }
 
     }
@@ -122,10 +164,35 @@ public class TestListener implements ITestListener, IInvokedMethodListener {
         return enable != null;
     }
 
-    private void afterInvocationForApiTest(IInvokedMethod method, ITestResult result) {
+    /**
+     * Captured records of the test method are written to the file only when the test failed.
+     *
+     * @return null if the records were not written
+     */
+    private LogsRecorder.Info recordTestLogs(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || !TestLogCapture.isEnabled()) {
+            return null;
+        }
+        if (!failed(method, result)) {
+            TestLogCapture.discard();
+            return null;
+        }
+        TestLogCapture.Captured captured = TestLogCapture.drain();
+        if (captured == null) {
+            return null;
+        }
+        if (captured.overflowed() > 0) {
+            Log.debug(captured.overflowed() + " log records of " + getMethodName() + " were overwritten (buffer size = "
+                    + TestLogCapture.getBufferSize() + "; overflowed tests: " + TestLogCapture.getOverflowedTests() + ").");
+        }
+        return new LogsRecorder().recordTestLogsToFile(result, captured.text());
+    }
+
+    private void afterInvocationForApiTest(IInvokedMethod method, ITestResult result, LogsRecorder.Info testLogs) {
         if (failed(method, result)) {
             String newMsg = getFailedMsg(result.getThrowable().getMessage())
-                    + ApiThreadResponse.buildApiDataMsg();
+                    + ApiThreadResponse.buildApiDataMsg()
+                    + ListenerHelper.buildMsgForTestLogs(testLogs);
             ListenerHelper.updateOriginalMessage(result, newMsg);
         }
         ApiThreadResponse.clear();
@@ -4,7 +4,6 @@ import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.json.JsonException;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
-import org.openqa.selenium.logging.LogType;
 import util.Browser;
 import util.DriverConfig;
 import util.log.Log;
@@ -79,7 +78,7 @@ public class TestProfile {
     public static synchronized LogEntries getBrowserLogs() {
         LogEntries logEntries;
         try {
-            logEntries = DriverConfig.getDriver().manage().logs().get(LogType.BROWSER);
+            logEntries = Browser.getConsoleLogs();
         } catch (JsonException | UnsupportedCommandException e) {
             Log.debug("Browser log were not provided due to error: " + e.getMessage() + "\nBrowser: " + Browser.getBrowserInfo());
             e.printStackTrace();
@@ -96,17 +95,16 @@ public class TestProfile {
     }
 
     public boolean jsErrorCaptured() {
-        for (LogEntry entry : getBrowserLogs()) {
-            String msg = entry.getMessage();
-            if (TestResultAnalyzer.isJsError(msg)) {
-                return true;
-            }
-        }
-        return false;
+        return LogClassifier.get().classify(getBrowserLogs()).hasJsError();
     }
 
     private boolean errorCaptured(String error) {
-        for (LogEntry entry : getBrowserLogs()) {
+        LogEntries entries = getBrowserLogs();
+        Boolean captured = LogClassifier.get().classify(entries).hasServerError(error);
+        if (captured != null) {
+            return captured;
+        }
+        for (LogEntry entry : entries) {
             String msg = entry.getMessage();
             if (TestResultAnalyzer.isServerError(error, msg)) {
                 return true;
@@ -2,11 +2,11 @@ package util.execution;
 
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.logging.LogEntries;
-import org.openqa.selenium.logging.LogEntry;
 import org.testng.Assert;
 import util.Browser;
 import util.log.ExtentManager;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class TestResultAnalyzer {
@@ -24,7 +24,7 @@ public class TestResultAnalyzer {
             " 429 "
     );
 
-    private static final String[] JS_ERRORS = new String[]{
+    private static final List<String> JS_ERRORS = List.of(
             "Uncaught",
             "TypeError",
             "Ajax failure",
@@ -33,7 +33,13 @@ public class TestResultAnalyzer {
             "React error",
             "Error: Route parameter missing",
             "RangeError"
-    };
+    );
+
+    static LogClassifier.Config defaultConfig() {
+        return new LogClassifier.Config(SERVER_ERRORS, JS_ERRORS, List.of(
+                new LogClassifier.IgnoreRule(LogClassifier.Errors.SERVER, "https://tracking.intentsify.io", "502")
+        ));
+    }
 
     public String analiseLogsResult() {
         LogsRecorder recorder = new LogsRecorder();
@@ -47,24 +53,49 @@ public class TestResultAnalyzer {
     }
 
     public String analiseLogsResult(LogEntries entries) {
+        return frame(apply(analyse(entries, TestProfile.getCurrentTestClass())));
+    }
+
+    static String frame(String errors) {
         return "  <<< --- Initial analysis of the test execution --- >>>\r\n" +
-                getErrorsListForLogs(entries) +
+                errors +
                 "  <<< -------  End of the initial analysis  -------- >>>\r\n";
 
 
     }
 
+    /**
+     * Result of {@link #analyse(LogEntries, String)}. It's applied to the test by {@link #apply(Analysis)}.
+     *
+     * @param errorTags tags of the matched errors in the order of the log entries
+     */
+    record Analysis(LogEntries entries, String errors, List<String> errorTags, List<String> criticalErrors) {
+    }
+
     private String getErrorsListForLogs(LogEntries logEntries) {
-        TestProfile.setLogs(logEntries);
+        return apply(analyse(logEntries, TestProfile.getCurrentTestClass()));
+    }
+
+    /**
+     * Matches the errors in the logs. Doesn't touch the test state, so it can be called from any thread.
+     */
+    Analysis analyse(LogEntries logEntries, String testClass) {
         StringBuilder out = new StringBuilder();
-        for (LogEntry entry : logEntries) {
-            String msg = entry.getMessage();
-            String err = getMatchedError(msg);
+        List<String> errorTags = new ArrayList<>();
+        List<String> criticalErrors = new ArrayList<>();
+        LogClassifier.Classification classification = LogClassifier.get().classify(logEntries);
+        for (int i = 0; i < classification.size(); i++) {
+            String err = classification.serverError(i);
+            if (err.isEmpty() && classification.jsError(i)) {
+                err = "JS";
+            }
             if(!err.isEmpty()){
+                String msg = logEntries.getAll().get(i).getMessage();
+                errorTags.add(err.equals("JS") ? JS_TAG : err);
                 if(err.contains("JS") || err.contains(" 500 ")){
-                    TestExecutionManager.addCriticalError(
+                    criticalErrors.add(
                             err + "error captured. Message: " + msg + ". " +
-                            "\nTest: " + TestProfile.getCurrentTestClass()
+                            "\nTest: " + testClass
                     );
                 }
                 String result = "       * Error " + err + " was detected in: " + msg + "\r\n";
@@ -72,56 +103,37 @@ public class TestResultAnalyzer {
             }
         }
 
-        return out.toString();
+        return new Analysis(logEntries, out.toString(), errorTags, criticalErrors);
     }
 
-    private String getMatchedServerError(String msg) {
-        String exceptionResource = "https://tracking.intentsify.io";
-        if(msg.startsWith(exceptionResource) && msg.contains("502")){
-            return "";
+    /**
+     * Assigns the matched errors to the current test. Should be called from the test thread.
+     *
+     * @return list of the detected errors
+     */
+    String apply(Analysis analysis) {
+        TestProfile.setLogs(analysis.entries());
+        for (String tag : analysis.errorTags()) {
+            logInExtentReport(tag);
+            TestProfile.addCapturedError(tag);
         }
-        for (String err : SERVER_ERRORS) {
-            if (isServerError(err, msg)) {
-                logInExtentReport(err);
-                TestProfile.addCapturedError(err);
-                return err;
-            }
-        }
-        return "";
+        analysis.criticalErrors().forEach(TestExecutionManager::addCriticalError);
+        return analysis.errors();
     }
 
     private void logInExtentReport(String e){
-        List<String> errorsForLabel = List.of(" 500 ", " 502 ", " 504 ");
+        List<String> errorsForLabel = List.of(" 500 ", " 502 ", " 504 ", JS_TAG);
         if(errorsForLabel.contains(e)){
             ExtentManager.getTest().assignCategory(e);
         }
     }
 
-    private String getMatchedError(String msg){
-        String error = getMatchedServerError(msg);
-        if(error.isEmpty() && isJsError(msg)){
-            error = "JS";
-            ExtentManager.getTest().assignCategory(JS_TAG);
-            TestProfile.addCapturedError(JS_TAG);
-        }
-        return error;
-    }
-
     public static boolean isServerError(String errorCode, String msg) {
         return msg.contains(errorCode);
     }
 
-    private boolean isServerError(String msg) {
-        return !getMatchedServerError(msg).isEmpty();
-    }
-
     public static boolean isJsError(String msg) {
-        for (String err : JS_ERRORS) {
-            if (msg.contains(err)) {
-                return true;
-            }
-        }
-        return false;
+        return LogClassifier.get().isJsError(msg);
     }
 
     public void assertErrorWasNotCaptured() {
@@ -131,10 +143,11 @@ public class TestResultAnalyzer {
 
     public void assertJsErrorWasNotCaptured() {
         StringBuilder errors = new StringBuilder();
-        for (LogEntry entry : new LogsRecorder().getBrowserLogs()) {
-            String msg = entry.getMessage();
-            if (isJsError(msg)) {
-                String result = "       * JS Error was detected in: " + msg + "\r\n";
+        LogEntries entries = new LogsRecorder().getBrowserLogs();
+        LogClassifier.Classification classification = LogClassifier.get().classify(entries);
+        for (int i = 0; i < classification.size(); i++) {
+            if (classification.jsError(i)) {
+                String result = "       * JS Error was detected in: " + entries.getAll().get(i).getMessage() + "\r\n";
                 errors.append(result);
             }
         }
@@ -4,8 +4,17 @@ import api.UtilAPI;
 import io.restassured.response.Response;
 import util.execution.ApiThreadResponse;
 
+import java.util.function.Supplier;
+
 public class ApiLogger {
 
+    /**
+     * Request data is captured now, the message is built only when it is requested.
+     */
+    public static Supplier<String> requestResponseInfo(ApiThreadResponse.RequestData requestData) {
+        return () -> getRequestResponseInfo(requestData);
+    }
+
     public static String getRequestResponseInfo(ApiThreadResponse.RequestData requestData) {
         return "Response status line:" + requestData.response().statusLine() +
                 "\nRequest URL: " + requestData.url() +
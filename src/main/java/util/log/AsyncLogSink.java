@@ -0,0 +1,205 @@
+package util.log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Puts records into the {@link LogRingBuffer}, the background writer formats them and prints them to the console by batches.
+ * Optionally the records are also written to the file per thread (<i>thread-{id}.log</i>).
+ * <p>
+ * When the buffer is full the record is either waited to be put ({@link OverflowPolicy#BLOCK}) or dropped
+ * ({@link OverflowPolicy#DROP}); number of the dropped records is printed by the writer.<br/>
+ * Records which are left in the buffer are written on JVM shutdown.
+ */
+public class AsyncLogSink implements LogSink {
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCK_WAIT_MILLIS = 10;
+    private static final long FLUSH_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    public enum OverflowPolicy {BLOCK, DROP}
+
+    private final LogRingBuffer<LogEntry> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final File threadFilesDir;
+    private final Thread writer;
+
+    /**
+     * Producers wait on it only when the buffer is full and the policy is {@link OverflowPolicy#BLOCK}.
+     */
+    private final Object notFull = new Object();
+    private final AtomicInteger blockedProducers = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private volatile long written;
+    private volatile boolean stopping;
+
+    /**
+     * @param threadFilesDir directory for the files per thread. Files are not written if null.
+     */
+    public AsyncLogSink(int bufferSize, OverflowPolicy overflowPolicy, File threadFilesDir) {
+        this.buffer = new LogRingBuffer<>(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.threadFilesDir = threadFilesDir;
+        if (threadFilesDir != null) {
+            threadFilesDir.mkdirs();
+        }
+        this.writer = new Thread(this::writeLoop, "async-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "async-log-shutdown"));
+    }
+
+    /**
+     * Creates the sink by system properties: <b>log.async.bufferSize</b> (default: 8192),
+     * <b>log.async.overflow</b> (BLOCK or DROP, default: BLOCK) and <b>log.async.dir</b> (files per thread are not written if empty).
+     */
+    static AsyncLogSink fromSystemProperties() {
+        String dir = System.getProperty("log.async.dir", "");
+        return new AsyncLogSink(
+                Integer.getInteger("log.async.bufferSize", 8192),
+                OverflowPolicy.valueOf(System.getProperty("log.async.overflow", OverflowPolicy.BLOCK.name()).toUpperCase()),
+                dir.isEmpty() ? null : new File(dir)
+        );
+    }
+
+    @Override
+    public void write(LogEntry entry) {
+        if (buffer.offer(entry)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+        blockedProducers.incrementAndGet();
+        try {
+            synchronized (notFull) {
+                while (!buffer.offer(entry)) {
+                    if (stopping) {
+                        LogSink.CONSOLE.write(entry);
+                        return;
+                    }
+                    LockSupport.unpark(writer);
+                    notFull.wait(BLOCK_WAIT_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LogSink.CONSOLE.write(entry);
+        } finally {
+            blockedProducers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void flush() {
+        long target = buffer.offered();
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+        while (written < target && writer.isAlive() && System.currentTimeMillis() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FLUSH_PARK_NANOS);
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void stop() {
+        stopping = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(FLUSH_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        Map<Long, BufferedWriter> threadFiles = new HashMap<>();
+        StringBuilder console = new StringBuilder();
+        while (true) {
+            int count = 0;
+            LogEntry entry;
+            while (count < MAX_BATCH && (entry = buffer.poll()) != null) {
+                String line = entry.format();
+                console.append(line).append(LINE_SEPARATOR);
+                if (threadFilesDir != null) {
+                    writeToThreadFile(threadFiles, entry.threadId(), line);
+                }
+                count++;
+            }
+            reportDropped(console);
+            if (console.length() > 0) {
+                System.out.print(console);
+                System.out.flush();
+                console.setLength(0);
+            }
+            if (count == 0) {
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                flushThreadFiles(threadFiles);
+                written += count;
+                if (blockedProducers.get() > 0) {
+                    synchronized (notFull) {
+                        notFull.notifyAll();
+                    }
+                }
+            }
+        }
+        for (BufferedWriter w : threadFiles.values()) {
+            try {
+                w.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void reportDropped(StringBuilder console) {
+        long droppedNow = dropped.sum();
+        if (droppedNow != droppedReported) {
+            console.append(LogEntry.of("LOG", (droppedNow - droppedReported) + " log records were dropped: log buffer is full.").format())
+                    .append(LINE_SEPARATOR);
+            droppedReported = droppedNow;
+        }
+    }
+
+    private void writeToThreadFile(Map<Long, BufferedWriter> threadFiles, long threadId, String line) {
+        try {
+            BufferedWriter w = threadFiles.get(threadId);
+            if (w == null) {
+                w = Files.newBufferedWriter(new File(threadFilesDir, "thread-" + threadId + ".log").toPath(), StandardCharsets.UTF_8);
+                threadFiles.put(threadId, w);
+            }
+            w.write(line);
+            w.newLine();
+        } catch (IOException e) {
+            System.err.println("Log record was not written to the file of thread #" + threadId + ": " + e.getMessage());
+        }
+    }
+
+    private void flushThreadFiles(Map<Long, BufferedWriter> threadFiles) {
+        for (BufferedWriter w : threadFiles.values()) {
+            try {
+                w.flush();
+            } catch (IOException e) {
+                System.err.println("Log file was not flushed: " + e.getMessage());
+            }
+        }
+    }
+}
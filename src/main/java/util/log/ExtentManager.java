@@ -6,48 +6,56 @@ import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Tests of the thread are kept in ThreadLocals and are read without locks.<br/>
+ * Class level nodes are created under the lock of their {@link ClassTest}, so threads of different classes don't wait for each other.
+ */
 public class ExtentManager {
 
-    private static final Map<String, ClassTest> classTestMap = new HashMap<>();
+    private static final Map<String, ClassTest> classTestMap = new ConcurrentHashMap<>();
     private static final ThreadLocal<ExtentTest> methodTest = new ThreadLocal<>();
     private static final ThreadLocal<ExtentTest> dataProviderTest = new ThreadLocal<>();
 
-    public static synchronized ExtentTest getTest() {
+    public static ExtentTest getTest() {
         ExtentTest t = dataProviderTest.get() == null
                 ? methodTest.get()
                 : dataProviderTest.get();
         return t;
     }
 
-    public static synchronized void assignDeviceToClass(Class<?> clazz, String device) {
+    public static void assignDeviceToClass(Class<?> clazz, String device) {
         ClassTest ct = classTestMap.get(clazz.getName());
         if (ct != null) {
-            ct.getClassLevel().assignDevice(device);
+            synchronized (ct) {
+                ct.getClassLevel().assignDevice(device);
+            }
         } else {
             Log.debug("Extent class test was not found for " + clazz.getName());
         }
     }
 
-    public static synchronized void assignCategoryToClass(Class<?> clazz, String category) {
+    public static void assignCategoryToClass(Class<?> clazz, String category) {
         ClassTest ct = classTestMap.get(clazz.getName());
         if (ct != null) {
-            ct.getClassLevel().assignCategory(category);
+            synchronized (ct) {
+                ct.getClassLevel().assignCategory(category);
+            }
         } else {
             Log.debug("Extent class test was not found for " + clazz.getName());
         }
     }
 
-    public static synchronized ExtentTest getTest(ITestResult result) {
+    public static ExtentTest getTest(ITestResult result) {
         ExtentTest t = result.getParameters() != null && result.getParameters().length > 0
                 ? dataProviderTest.get()
                 : methodTest.get();
         return t;
     }
 
-    public static synchronized ExtentTest createMethod(ITestResult result, Boolean createAsChild) {
+    public static ExtentTest createMethod(ITestResult result, Boolean createAsChild) {
         if (!createAsChild)
             return createMethod(result);
 //        String className = result.getInstance().getClass().getSimpleName();
@@ -55,22 +63,18 @@ public class ExtentManager {
         String methodName = result.getMethod().getMethodName();
 //        result.getMethod().isBeforeClassConfiguration()
         String desc = result.getMethod().getDescription();
-        ExtentTest classTest;
-        if (classTestMap.containsKey(className)) {
-            classTest = classTestMap.get(className).getGroup(result);
-        } else {
-            ClassTest cTest = new ClassTest(
-                    ExtentService.getInstance().createTest(className, desc)
-            );
-            classTestMap.put(className, cTest);
-            classTest = cTest.getGroup(result);
-        }
+        ClassTest cTest = classTestMap.computeIfAbsent(className, name -> new ClassTest(
+                ExtentService.getInstance().createTest(name, desc)
+        ));
         if (result.getParameters().length > 0) {
-            boolean anyMatch = classTest.getModel().getChildren()
-                    .stream()
-                    .anyMatch(x -> x.getName().equals(methodName));
-            if (!anyMatch)
-                createTest(result, classTest);
+            synchronized (cTest) {
+                ExtentTest classTest = cTest.getGroup(result);
+                boolean anyMatch = classTest.getModel().getChildren()
+                        .stream()
+                        .anyMatch(x -> x.getName().equals(methodName));
+                if (!anyMatch)
+                    createTest(result, classTest);
+            }
             String paramName = Arrays.asList(result.getParameters()).toString();
             ExtentTest paramTest;
             if (result.getMethod().isDataDriven()) {
@@ -81,12 +85,14 @@ public class ExtentManager {
             dataProviderTest.set(paramTest);
         } else {
             dataProviderTest.set(null);
-            createTest(result, classTest);
+            synchronized (cTest) {
+                createTest(result, cTest.getGroup(result));
+            }
         }
         return methodTest.get();
     }
 
-    public static synchronized ExtentTest createMethod(ITestResult result) {
+    public static ExtentTest createMethod(ITestResult result) {
         String methodName = result.getMethod().getMethodName();
         if (result.getParameters().length > 0) {
             if (methodTest.get() != null && methodTest.get().getModel().getName().equals(methodName))
@@ -103,7 +109,7 @@ public class ExtentManager {
         return methodTest.get();
     }
 
-    private static synchronized ExtentTest createTest(ITestResult result, ExtentTest classTest) {
+    private static ExtentTest createTest(ITestResult result, ExtentTest classTest) {
         String methodName = result.getMethod().getMethodName();
         String desc = result.getMethod().getDescription();
         ExtentTest test;
@@ -117,7 +123,7 @@ public class ExtentManager {
         return test;
     }
 
-    private static synchronized Status getStatus(ITestResult result) {
+    private static Status getStatus(ITestResult result) {
         return switch (result.getStatus()) {
             case ITestResult.SKIP -> Status.SKIP;
             case ITestResult.FAILURE -> Status.FAIL;
@@ -125,7 +131,7 @@ public class ExtentManager {
         };
     }
 
-    public static synchronized void log(ITestResult result, Boolean createTestAsChild) {
+    public static void log(ITestResult result, Boolean createTestAsChild) {
 
         Status status = getStatus(result);
         String msg = "Test " + status.toLower().replace("skip", "skipp") + "ed"; //passed, skipped, failed
@@ -151,11 +157,11 @@ public class ExtentManager {
         ExtentManager.getTest(result).log(status, msg);
     }
 
-    public static synchronized void log(ITestResult result) {
+    public static void log(ITestResult result) {
         log(result, false);
     }
 
-    public static synchronized void fail(ITestResult result, boolean createTestAsChild) {
+    public static void fail(ITestResult result, boolean createTestAsChild) {
         Status s = getStatus(result);
 
         if (ExtentManager.getTest(result) == null)
@@ -165,6 +171,9 @@ public class ExtentManager {
 
     }
 
+    /**
+     * Nodes are created lazily. Callers should hold the lock of the instance.
+     */
     private static class ClassTest {
         private ExtentTest classTest;
         private ExtentTest testsGroup;
@@ -1,7 +1,6 @@
 package util.log;
 
 import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.observer.ExtentObserver;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.ReporterConfigurable;
 
@@ -28,6 +27,14 @@ public class ExtentService
         return sys == null ? (properties == null ? null : properties.get(key)) : sys;
     }
 
+    /**
+     * @return new Spark reporter with the output and config of the reporter attached to the instance
+     */
+    static ExtentSparkReporter newSparkReporter() {
+        getInstance();
+        return ExtentReportsLoader.newSpark(properties);
+    }
+
     @SuppressWarnings("unused")
     private ExtentReports readResolve() {
         return ExtentReportsLoader.INSTANCE;
@@ -94,12 +101,17 @@ public class ExtentService
         }
 
         private static void initSpark(Properties properties) {
+            INSTANCE.attachReporter(newSpark(properties));
+        }
+
+        private static ExtentSparkReporter newSpark(Properties properties) {
             String out = getOutputPath(properties, OUT_SPARK_KEY);
             ExtentSparkReporter spark = new ExtentSparkReporter(out);
-            attach(spark, properties, CONFIG_SPARK_KEY);
+            loadConfig(spark, properties, CONFIG_SPARK_KEY);
+            return spark;
         }
 
-        private static void attach(ReporterConfigurable r, Properties properties, String configKey) {
+        private static void loadConfig(ReporterConfigurable r, Properties properties, String configKey) {
             Object configPath = properties == null
                     ? System.getProperty(configKey)
                     : properties.get(configKey);
@@ -109,7 +121,6 @@ public class ExtentService
                 } catch (Throwable e) {
                     e.printStackTrace();
                 }
-            INSTANCE.attachReporter((ExtentObserver<?>) r);
         }
     }
 
@@ -1,23 +1,24 @@
 package util.log;
 
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import lombok.SneakyThrows;
 import util.Retry;
 import util.WaitFactory;
-import util.execution.TestExecutionManager;
 
+/**
+ * Steps are recorded to the report by {@link StepRecorder}.
+ */
 public class ExtentSteps {
 
-    private static final boolean ENABLE_DETAILED_LOGS = !TestExecutionManager.executingFullRegression();
-
     @SneakyThrows
     public static void log(String stepName, Retry.RetryCallback c) {
-        if (ENABLE_DETAILED_LOGS) {
+        if (StepRecorder.keepsDetails()) {
             try {
                 c.call();
-                passStep(stepName);
+                detailStep(Status.PASS, stepName);
             } catch (Throwable e) {
-                failStep(stepName);
+                detailStep(Status.FAIL, stepName);
                 throw e;
             }
         } else {
@@ -29,14 +30,14 @@ public class ExtentSteps {
     public static void passStep(String n) {
         ExtentTest test = ExtentManager.getTest();
         if (test != null) {
-            test.pass(n);
+            StepRecorder.record(test, Status.PASS, n, false);
         }
     }
 
-    private static void failStep(String n) {
+    private static void detailStep(Status status, String n) {
         ExtentTest test = ExtentManager.getTest();
         if (test != null) {
-            test.fail(n);
+            StepRecorder.record(test, status, n, true);
         }
     }
 
@@ -44,11 +45,25 @@ public class ExtentSteps {
     public static boolean log(String stepName, WaitFactory.Callback c) {
         try {
             boolean v = c.call();
-            passStep(stepName);
+            detailStep(Status.PASS, stepName);
             return v;
         } catch (Throwable e) {
-            failStep(stepName);
+            detailStep(Status.FAIL, stepName);
             throw e;
         }
     }
+
+    /**
+     * Should be called before logging to the Extent test directly, so the records keep the order of the steps.
+     */
+    public static void flush() {
+        StepRecorder.flush();
+    }
+
+    /**
+     * Called by the listener after each invoked method.
+     */
+    public static void endTest(boolean failed) {
+        StepRecorder.endTest(failed);
+    }
 }
@@ -3,11 +3,25 @@ package util.log;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import util.BrowserProfile;
-import util.Dates;
 import util.DriverConfig;
 
+/**
+ * Records are written to the {@link LogSink}: console by default, or {@link AsyncLogSink} when <b>log.async</b> system property is true.
+ */
 public class Log {
+    private static volatile LogSink sink = Boolean.getBoolean("log.async") ? AsyncLogSink.fromSystemProperties() : LogSink.CONSOLE;
 
+    public static void setSink(LogSink logSink) {
+        sink.flush();
+        sink = logSink;
+    }
+
+    /**
+     * Waits till the records are delivered by the sink.
+     */
+    public static void flush() {
+        sink.flush();
+    }
 
     public static void logInReport(String msg) {
         logRecord(msg);
@@ -17,22 +31,6 @@ public class Log {
         return "(#" + Thread.currentThread().getId() + ")";
     }
 
-    private static String prefix(String substr) {
-        return time() + " " + substr + threadId() + ": ";
-    }
-
-    private static String time() {
-        return Dates.getCurrentDateTimeInFormat("HH:mm:ss"); //yyyy/MM/dd HH:mm:ss
-    }
-
-    private static String logPrefix() {
-        return prefix("LOG");
-    }
-
-    private static String debugPrefix() {
-        return prefix("DEBUG");
-    }
-
     public static void logRecord(String msg) {
 //        printAction(logPrefix() + msg);
         logRecord(msg, true);
@@ -43,26 +41,28 @@ public class Log {
     }
 
     public static void logRecord(String msg, boolean logInReport) {
-        printAction(logPrefix() + msg);
+        printAction("LOG", msg);
         if (logInReport) {
             ExtentSteps.passStep(msg);
         }
     }
 
     public static void testFailed(String msg) {
-        printAction(prefix("FAILED") + msg);
+        printAction("FAILED", msg);
     }
 
     public static void testPassed(String msg) {
-        printAction(prefix("PASSED") + msg);
+        printAction("PASSED", msg);
     }
 
     public static void debug(String msg) {
-        printAction(debugPrefix() + msg);
+        printAction("DEBUG", msg);
     }
 
-    private static void printAction(String msg) {
-        System.out.println(msg);
+    private static void printAction(String level, String msg) {
+        LogEntry entry = LogEntry.of(level, msg);
+        TestLogCapture.record(entry);
+        sink.write(entry);
     }
 
     public static void switchedToWindowMsg(String windowHandle) {
@@ -0,0 +1,29 @@
+package util.log;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One record of {@link Log}. It's formatted by the sink, so the asynchronous sink formats it in the writer thread.
+ */
+public record LogEntry(long timeMillis, String level, long threadId, String message) {
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss"); //yyyy/MM/dd HH:mm:ss
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    static LogEntry of(String level, String message) {
+        return new LogEntry(System.currentTimeMillis(), level, Thread.currentThread().getId(), message);
+    }
+
+    public String time() {
+        return TIME_FORMATTER.format(LocalTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZONE));
+    }
+
+    /**
+     * @return record in the format: <i>HH:mm:ss LEVEL(#threadId): message</i>
+     */
+    public String format() {
+        return time() + " " + level + "(#" + threadId + "): " + message;
+    }
+}
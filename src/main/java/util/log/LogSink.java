@@ -0,0 +1,23 @@
+package util.log;
+
+/**
+ * Destination of {@link Log} records. The sink is set by {@link Log#setSink(LogSink)}.
+ */
+public interface LogSink {
+
+    /**
+     * Called by the thread which logs the record.
+     */
+    void write(LogEntry entry);
+
+    /**
+     * Waits till all records written before the call are delivered.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Prints records into the console in the calling thread.
+     */
+    LogSink CONSOLE = entry -> System.out.println(entry.format());
+}
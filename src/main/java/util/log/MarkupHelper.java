@@ -3,6 +3,9 @@ package util.log;
 import util.execution.ApiThreadResponse;
 import util.execution.LogsRecorder;
 
+import java.util.Map;
+import java.util.StringJoiner;
+
 public class MarkupHelper extends com.aventstack.extentreports.markuputils.MarkupHelper {
 
     public static String buildLink(String text, String link) {
@@ -10,6 +13,13 @@ public class MarkupHelper extends com.aventstack.extentreports.markuputils.Marku
     }
 
     public static String buildCommonFailedInfoMsg(String url, LogsRecorder.Info info, ApiThreadResponse.RequestData apiData) {
+        return buildCommonFailedInfoMsg(url, info, null, apiData);
+    }
+
+    /**
+     * @param testLogs captured logs of the test. Can be null.
+     */
+    public static String buildCommonFailedInfoMsg(String url, LogsRecorder.Info info, LogsRecorder.Info testLogs, ApiThreadResponse.RequestData apiData) {
         String msg = "";
         if (!url.contains("http")) {
             url = "URL is not available. See details in stacktrace.";
@@ -20,6 +30,10 @@ public class MarkupHelper extends com.aventstack.extentreports.markuputils.Marku
             browserLogFile = "Browser logs are not available. See details in stacktrace.";
         }
         msg += "</br><b>Browser logs:</b> " + browserLogFile;
+        if (testLogs != null) {
+            String testLogFile = testLogs.errorCaptured() ? testLogs.getErrorMsg() : MarkupHelper.buildLink("File", testLogs.getRelativePath());
+            msg += "</br><b>Test logs:</b> " + testLogFile;
+        }
         if (apiData != null) {
             msg += "</br>" + buildFailedApiMsg(apiData);
         }
@@ -27,6 +41,15 @@ public class MarkupHelper extends com.aventstack.extentreports.markuputils.Marku
         return msg;
     }
 
+    /**
+     * @param timings milliseconds spent on each artifact of the failed test
+     */
+    public static String buildArtifactTimingsMsg(Map<String, Long> timings) {
+        StringJoiner joiner = new StringJoiner(", ");
+        timings.forEach((artifact, millis) -> joiner.add(artifact + ": " + millis + " ms"));
+        return "</br><b>Failure artifacts:</b> " + joiner;
+    }
+
     private static String buildFailedApiMsg(ApiThreadResponse.RequestData apiData) {
         if (apiData == null || apiData.url() == null) {
             return "";
@@ -0,0 +1,276 @@
+package util.log;
+
+import com.aventstack.extentreports.AnalysisStrategy;
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.gson.GsonExtentTypeAdapterBuilder;
+import com.aventstack.extentreports.model.Test;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import util.PropertyLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Streams the Extent report: each completed test is appended to the journal as one JSON line, and the HTML report
+ * is rendered from the journal by the background thread, so test threads don't wait for the full report rebuild.
+ * <p>
+ * A journal line contains the test node and its ancestors (without their children), so the report tree is restored
+ * from the journal. If JVM was crashed, the report can be rebuilt from the journal by {@link #main(String[])}.
+ * <p>
+ * System properties: <b>extent.journal</b> (default: false) and <b>extent.journal.renderInterval</b> - seconds between renders (default: 60).
+ * The journal is written to <i>{extent.reporter.spark.path}/journal.jsonl</i> and is cleared on start.
+ */
+public class ReportJournal {
+    private static final boolean ENABLED = Boolean.getBoolean("extent.journal");
+    private static final long RENDER_INTERVAL_SECONDS = Math.max(1, Integer.getInteger("extent.journal.renderInterval", 60));
+    private static final long FINAL_RENDER_TIMEOUT_SECONDS = 120;
+    static final String JOURNAL_FILE = PropertyLoader.loadExtentRepoetProp("extent.reporter.spark.path") + "/journal.jsonl";
+
+    private static final String PATH = "path";
+    private static final String TEST = "test";
+    private static final String NAME = "name";
+    private static final String CHILDREN = "children";
+    private static final String START_TIME = "startTime";
+    private static final String[] ANCESTOR_FIELDS = {NAME, "description", START_TIME, "endTime", "level", "authorSet", "categorySet", "deviceSet"};
+
+    /**
+     * Configured like in Extent JsonFormatter: screen capture adapter of Extent supports only reading.
+     */
+    private static final Gson GSON = GsonExtentTypeAdapterBuilder.builder()
+            .withGsonTypeAdapterFactory()
+            .build();
+
+    private static ReportJournal instance;
+
+    private final File journal;
+    private final Writer writer;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "extent-journal");
+        t.setDaemon(true);
+        return t;
+    });
+    private boolean dirty;
+
+    private ReportJournal(File journal) throws IOException {
+        this.journal = journal;
+        journal.getParentFile().mkdirs();
+        this.writer = Files.newBufferedWriter(journal.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        executor.scheduleWithFixedDelay(this::renderIfChanged, RENDER_INTERVAL_SECONDS, RENDER_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::renderOnShutdown, "extent-journal-shutdown"));
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    private static synchronized ReportJournal getInstance() throws IOException {
+        if (instance == null) {
+            instance = new ReportJournal(new File(JOURNAL_FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * Serializes the completed test in the calling thread and appends it to the journal in the background.
+     */
+    public static void append(ExtentTest test) {
+        if (!ENABLED || test == null) {
+            return;
+        }
+        try {
+            String line = toJournalLine(test.getModel());
+            ReportJournal journal = getInstance();
+            journal.executor.execute(() -> journal.write(line));
+        } catch (Throwable e) {
+            Log.debug("Test '" + test.getModel().getName() + "' was not written to the report journal: " + e);
+        }
+    }
+
+    /**
+     * Renders the report from the journal in the background.
+     */
+    public static void requestRender() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            ReportJournal journal = getInstance();
+            journal.executor.execute(journal::renderIfChanged);
+        } catch (IOException e) {
+            Log.debug("Report was not rendered from the journal: " + e);
+        }
+    }
+
+    /**
+     * Rebuilds the report from the journal of the crashed run.
+     *
+     * @param args path to the journal. Default journal is used if it's not provided.
+     */
+    public static void main(String[] args) throws IOException {
+        File journal = new File(args.length > 0 ? args[0] : JOURNAL_FILE);
+        render(journal, ExtentService.newSparkReporter());
+        System.out.println("Report was rebuilt from " + journal.getAbsolutePath());
+    }
+
+    private void write(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+            dirty = true;
+        } catch (IOException e) {
+            Log.debug("Line was not written to the report journal: " + e);
+        }
+    }
+
+    private void renderIfChanged() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        long start = System.currentTimeMillis();
+        try {
+            render(journal, ExtentService.newSparkReporter());
+            Log.debug("Report was rendered from the journal in " + (System.currentTimeMillis() - start) + " ms.");
+        } catch (Throwable e) {
+            Log.debug("Report was not rendered from the journal: " + e);
+        }
+    }
+
+    private void renderOnShutdown() {
+        try {
+            executor.submit(this::renderIfChanged).get(FINAL_RENDER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Final report was not rendered from the journal: " + e);
+        }
+    }
+
+    private static String toJournalLine(Test test) {
+        JsonArray path = new JsonArray();
+        List<Test> ancestors = new ArrayList<>();
+        for (Test parent = test.getParent(); parent != null; parent = parent.getParent()) {
+            ancestors.add(0, parent);
+        }
+        for (Test ancestor : ancestors) {
+            path.add(withoutChildren(ancestor));
+        }
+        JsonObject line = new JsonObject();
+        line.add(PATH, path);
+        line.add(TEST, GSON.toJsonTree(test));
+        return GSON.toJson(line);
+    }
+
+    /**
+     * Ancestors are serialized by fields, since serialization of the whole node walks all its children.
+     */
+    private static JsonObject withoutChildren(Test test) {
+        JsonObject node = new JsonObject();
+        node.add(NAME, GSON.toJsonTree(test.getName()));
+        node.add("description", GSON.toJsonTree(test.getDescription()));
+        node.add(START_TIME, GSON.toJsonTree(test.getStartTime()));
+        node.add("endTime", GSON.toJsonTree(test.getEndTime()));
+        node.add("level", GSON.toJsonTree(test.getLevel()));
+        node.add("authorSet", GSON.toJsonTree(new ArrayList<>(test.getAuthorSet())));
+        node.add("categorySet", GSON.toJsonTree(new ArrayList<>(test.getCategorySet())));
+        node.add("deviceSet", GSON.toJsonTree(new ArrayList<>(test.getDeviceSet())));
+        return node;
+    }
+
+    /**
+     * Merges the journal lines into the tree: ancestors are merged by names, the test replaces the earlier record with the same name.
+     */
+    static void render(File journal, ExtentSparkReporter spark) throws IOException {
+        Map<String, Node> roots = new LinkedHashMap<>();
+        try (var lines = Files.lines(journal.toPath(), StandardCharsets.UTF_8)) {
+            lines.filter(l -> !l.isBlank()).forEach(l -> {
+                JsonObject line;
+                try {
+                    line = JsonParser.parseString(l).getAsJsonObject();
+                } catch (RuntimeException e) {
+                    return; // last line can be incomplete after the crash
+                }
+                Map<String, Node> level = roots;
+                for (JsonElement ancestor : line.getAsJsonArray(PATH)) {
+                    level = mergeAncestor(level, ancestor.getAsJsonObject()).children;
+                }
+                JsonObject test = line.getAsJsonObject(TEST);
+                Node node = new Node(test);
+                Node previous = level.put(test.get(NAME).getAsString(), node);
+                if (previous != null) {
+                    node.children.putAll(previous.children);
+                }
+            });
+        }
+        JsonArray tests = new JsonArray();
+        roots.values().forEach(n -> tests.add(n.toJson()));
+
+        File archive = File.createTempFile("extent-journal", ".json");
+        try {
+            Files.writeString(archive.toPath(), GSON.toJson(tests), StandardCharsets.UTF_8);
+            ExtentReports report = new ExtentReports();
+            report.setAnalysisStrategy(AnalysisStrategy.CLASS);
+            report.attachReporter(spark);
+            report.createDomainFromJsonArchive(archive);
+            report.flush();
+        } finally {
+            archive.delete();
+        }
+    }
+
+    private static Node mergeAncestor(Map<String, Node> level, JsonObject ancestor) {
+        Node node = level.get(ancestor.get(NAME).getAsString());
+        if (node == null) {
+            node = new Node(ancestor);
+            level.put(ancestor.get(NAME).getAsString(), node);
+        } else {
+            // later record has actual end time and attributes
+            for (String field : ANCESTOR_FIELDS) {
+                if (!START_TIME.equals(field) && ancestor.has(field)) {
+                    node.json.add(field, ancestor.get(field));
+                }
+            }
+        }
+        return node;
+    }
+
+    private static class Node {
+        private final JsonObject json;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+
+        private Node(JsonObject json) {
+            this.json = json;
+        }
+
+        private JsonObject toJson() {
+            if (children.isEmpty()) {
+                return json;
+            }
+            JsonArray array = new JsonArray();
+            children.values().forEach(c -> array.add(c.toJson()));
+            json.add(CHILDREN, array);
+            return json;
+        }
+    }
+}
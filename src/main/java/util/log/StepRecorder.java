@@ -0,0 +1,120 @@
+package util.log;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import util.execution.TestExecutionManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Records the steps of {@link ExtentSteps} into the Extent tests.
+ * <p>
+ * In async mode (<b>extent.steps.async</b> system property) steps are appended to the buffer of the test thread
+ * and are created in Extent by batches in the single reporter thread. {@link #flush()} waits till all steps of the thread are created,
+ * so the records which are logged to the test directly after the flush keep their order.<br/>
+ * Detail of the steps is defined by <b>extent.steps.detail</b>: ALL, FAILED_ONLY (steps are kept only for failed tests) or NONE.
+ * By default it's NONE for full regression and ALL for other suites.
+ */
+class StepRecorder {
+    enum Detail {ALL, FAILED_ONLY, NONE}
+
+    static final Detail DETAIL = detailFromProperties();
+    private static final boolean ASYNC = Boolean.getBoolean("extent.steps.async");
+    private static final int BATCH_SIZE = 64;
+
+    private static final ExecutorService REPORTER = ASYNC ? Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "extent-step-reporter");
+        t.setDaemon(true);
+        return t;
+    }) : null;
+    private static final ThreadLocal<List<Step>> STEPS = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<Future<?>> LAST_BATCH = new ThreadLocal<>();
+
+    /**
+     * @param detail step of the UI action. Such steps are dropped for passed tests in FAILED_ONLY mode.
+     */
+    private record Step(ExtentTest test, Status status, String name, long timeMillis, boolean detail) {
+    }
+
+    private static Detail detailFromProperties() {
+        String detail = System.getProperty("extent.steps.detail", "");
+        if (detail.isEmpty()) {
+            return TestExecutionManager.executingFullRegression() ? Detail.NONE : Detail.ALL;
+        }
+        return Detail.valueOf(detail.toUpperCase());
+    }
+
+    static boolean keepsDetails() {
+        return DETAIL != Detail.NONE;
+    }
+
+    static void record(ExtentTest test, Status status, String name, boolean detail) {
+        boolean holdTillTestEnd = DETAIL == Detail.FAILED_ONLY;
+        if (!ASYNC && !holdTillTestEnd) {
+            test.log(status, name);
+            return;
+        }
+        List<Step> steps = STEPS.get();
+        steps.add(new Step(test, status, name, System.currentTimeMillis(), detail));
+        if (!holdTillTestEnd && steps.size() >= BATCH_SIZE) {
+            dispatch(steps, false);
+        }
+    }
+
+    /**
+     * Creates all recorded steps of the current thread and waits till they are created.
+     */
+    static void flush() {
+        dispatch(STEPS.get(), true);
+    }
+
+    /**
+     * Drops the detailed steps of the passed test in FAILED_ONLY mode and flushes the rest.
+     */
+    static void endTest(boolean failed) {
+        if (DETAIL == Detail.FAILED_ONLY && !failed) {
+            STEPS.get().removeIf(Step::detail);
+        }
+        flush();
+    }
+
+    private static void dispatch(List<Step> steps, boolean wait) {
+        if (!steps.isEmpty()) {
+            List<Step> batch = new ArrayList<>(steps);
+            steps.clear();
+            if (!ASYNC) {
+                create(batch);
+                return;
+            }
+            LAST_BATCH.set(REPORTER.submit(() -> create(batch)));
+        }
+        Future<?> last = LAST_BATCH.get();
+        if (wait && last != null) {
+            LAST_BATCH.remove();
+            try {
+                last.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Log.debug("Steps were not recorded to the report: " + e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Logs have the time when the steps were recorded, not when they were created in Extent.
+     */
+    private static void create(List<Step> batch) {
+        for (Step step : batch) {
+            step.test().log(step.status(), step.name());
+            List<com.aventstack.extentreports.model.Log> logs = step.test().getModel().getLogs();
+            logs.get(logs.size() - 1).setTimestamp(new Date(step.timeMillis()));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package util.log;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Captures {@link Log} records of the test method into the ring buffer of the test thread.<br/>
+ * Buffer is drained into the artifacts of the failed test and discarded for the passed one, so nothing is written to disk
+ * for the passed tests. When the buffer is full the oldest records are overwritten and counted as overflowed.
+ * <p>
+ * System properties: <b>log.capture</b> (default: false) and <b>log.capture.size</b> - records per thread (default: 2000).
+ */
+public class TestLogCapture {
+    private static final boolean ENABLED = Boolean.getBoolean("log.capture");
+    private static final int BUFFER_SIZE = Math.max(1, Integer.getInteger("log.capture.size", 2000));
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+    private static final LongAdder OVERFLOWED_RECORDS = new LongAdder();
+    private static final LongAdder OVERFLOWED_TESTS = new LongAdder();
+
+    /**
+     * @param overflowed number of the oldest records which were overwritten
+     */
+    public record Captured(String text, int records, long overflowed) {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static int getBufferSize() {
+        return BUFFER_SIZE;
+    }
+
+    /**
+     * @return number of records which were overwritten in all threads
+     */
+    public static long getOverflowedRecords() {
+        return OVERFLOWED_RECORDS.sum();
+    }
+
+    /**
+     * @return number of tests which had more records than the buffer size
+     */
+    public static long getOverflowedTests() {
+        return OVERFLOWED_TESTS.sum();
+    }
+
+    /**
+     * Starts capturing of the records of the current thread. Records captured before are discarded.
+     */
+    public static void start() {
+        if (ENABLED) {
+            BUFFER.get().start();
+        }
+    }
+
+    static void record(LogEntry entry) {
+        if (ENABLED) {
+            Buffer buffer = BUFFER.get();
+            if (buffer.active) {
+                buffer.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Stops capturing and discards the records.
+     */
+    public static void discard() {
+        if (ENABLED) {
+            BUFFER.get().stop();
+        }
+    }
+
+    /**
+     * Stops capturing and returns the records in the order they were logged.
+     *
+     * @return null if the capturing was not started
+     */
+    public static Captured drain() {
+        if (!ENABLED || !BUFFER.get().active) {
+            return null;
+        }
+        Buffer buffer = BUFFER.get();
+        Captured captured = buffer.toCaptured();
+        buffer.stop();
+        return captured;
+    }
+
+    /**
+     * Timestamps are kept in the primitive array; levels and messages are the references logged by the thread.
+     */
+    private static class Buffer {
+        private final long[] times = new long[BUFFER_SIZE];
+        private final String[] levels = new String[BUFFER_SIZE];
+        private final String[] messages = new String[BUFFER_SIZE];
+        private long count;
+        private boolean active;
+
+        private void start() {
+            stop();
+            active = true;
+        }
+
+        private void stop() {
+            active = false;
+            if (count > BUFFER_SIZE) {
+                OVERFLOWED_RECORDS.add(count - BUFFER_SIZE);
+                OVERFLOWED_TESTS.increment();
+            }
+            int used = (int) Math.min(count, BUFFER_SIZE);
+            Arrays.fill(levels, 0, used, null);
+            Arrays.fill(messages, 0, used, null);
+            count = 0;
+        }
+
+        private void add(LogEntry entry) {
+            int i = (int) (count % BUFFER_SIZE);
+            times[i] = entry.timeMillis();
+            levels[i] = entry.level();
+            messages[i] = entry.message();
+            count++;
+        }
+
+        private Captured toCaptured() {
+            long overflowed = Math.max(0, count - BUFFER_SIZE);
+            int records = (int) (count - overflowed);
+            long threadId = Thread.currentThread().getId();
+            StringBuilder text = new StringBuilder();
+            if (overflowed > 0) {
+                text.append(overflowed).append(" earlier records were overwritten (buffer size = ").append(BUFFER_SIZE).append(")\r\n");
+            }
+            for (long n = overflowed; n < count; n++) {
+                int i = (int) (n % BUFFER_SIZE);
+                text.append(new LogEntry(times[i], levels[i], threadId, messages[i]).format()).append("\r\n");
+            }
+            return new Captured(text.toString(), records, overflowed);
+        }
+    }
+}
@@ -17,6 +17,13 @@ public class MailConnector implements Closeable {
     private static final String INBOX_FOLDER = "inbox";
     private static final String SESSION_TYPE = "imap";
     private static final String DEFAULT_HOST = "imap.gmail.com";
+    /**
+     * Mail server can be changed with system properties <b>mail.server.host</b>, <b>mail.server.port</b> and <b>mail.server.ssl</b>
+     * (e.g. to use the local IMAP server).
+     */
+    private static final String HOST = System.getProperty("mail.server.host", DEFAULT_HOST);
+    private static final int PORT = Integer.getInteger("mail.server.port", -1);
+    private static final boolean SSL = Boolean.parseBoolean(System.getProperty("mail.server.ssl", "true"));
     private static final String PASSWORD = PropertyLoader.loadCredentialProperty("gmail.user.password");
 
     private Store store;
@@ -30,16 +37,16 @@ public class MailConnector implements Closeable {
         }
     }
 
-    private Store getStore() {
+    Store getStore() {
         return Objects.requireNonNull(store);
     }
 
     public MailConnector connect(String user) throws MessagingException {
         Properties props = new Properties();
-        props.setProperty("mail.imap.ssl.enable", "true");
+        props.setProperty("mail.imap.ssl.enable", String.valueOf(SSL));
         Session session = Session.getInstance(props);
         store = session.getStore(SESSION_TYPE);
-        store.connect(DEFAULT_HOST, user, PASSWORD);
+        store.connect(HOST, PORT, user, PASSWORD);
         Log.logRecord("Connected to the mailbox of the user: " + user);
         return this;
     }
@@ -42,6 +42,9 @@ public class MailReader {
 
     @SneakyThrows
     public MessageData getMessage(String user, QueryDetails queryDetails, long waitTimeout) {
+        if (MailWatcher.isEnabled()) {
+            return waitTillMessageReceived(MailWatcher.of(user), queryDetails, waitTimeout);
+        }
         try (MailConnector mailBox = new MailConnector().connect(user)) {
             return waitTillMessageReceived(mailBox, queryDetails, waitTimeout);
         }
@@ -82,6 +85,24 @@ public class MailReader {
         throw new TimeoutException(errorMsg);
     }
 
+    /**
+     * Waits on the shared connection of the mailbox. Other unseen emails are not marked as seen,
+     * since they can be awaited by other threads.
+     */
+    @SneakyThrows
+    private MessageData waitTillMessageReceived(MailWatcher watcher, QueryDetails queryDetails, long waitSec) {
+        String errorMsg = "Mail message with subject <" + queryDetails.getSubject() + "> was not found.";
+        Log.logRecord("Start waiting for email to be received. (Email subject: '" + queryDetails.getSubject() + "').");
+        Message message = watcher.await(m -> isMessageMatched(m, queryDetails), waitSec);
+        if (message == null) {
+            Log.logRecord(errorMsg);
+            throw new TimeoutException(errorMsg);
+        }
+        Log.debug("Email with subject '" + queryDetails.getSubject() + "' was received.");
+        markMessagesAsSeenInInbox(List.of(message), message.getFolder());
+        return new MessageData(MailReader.getHtmlMessageBody(message), MailReader.getSenderEmail(message));
+    }
+
     @SneakyThrows
     private List<Message> findMessage(Folder folder, QueryDetails queryDetails) {
         Message matchedMsg = null;
@@ -90,8 +111,7 @@ public class MailReader {
             Log.debug("getSubject: " + message.getSubject());
             Log.debug("getFrom: " + Arrays.toString(message.getFrom()));
 
-            if ((queryDetails.getSender() == null && isMessageMatchedBySubject(message, queryDetails))
-                    || isMessageMatchedBySubjectAndSender(message, queryDetails)) {
+            if (isMessageMatched(message, queryDetails)) {
                 matchedMsg = message;
             }
             if (matchedMsg != null) {
@@ -107,14 +127,27 @@ public class MailReader {
         return folder.search(unseenFlagTerm);
     }
 
+    private boolean isMessageMatched(Message message, QueryDetails queryDetails) {
+        return (queryDetails.getSender() == null && isMessageMatchedBySubject(message, queryDetails))
+                || isMessageMatchedBySubjectAndSender(message, queryDetails);
+    }
+
+    /**
+     * Messages without subject are not matched.
+     */
     @SneakyThrows
     private boolean isMessageMatchedBySubject(Message message, QueryDetails queryDetails) {
-        return message.getSubject().contains(queryDetails.getSubject());
+        String subject = message.getSubject();
+        return subject != null && queryDetails.getSubject() != null && subject.contains(queryDetails.getSubject());
     }
 
+    /**
+     * Messages without sender are not matched.
+     */
     @SneakyThrows
     private boolean isMessageMatchedBySubjectAndSender(Message message, QueryDetails mailDetails) {
-        return message.getSubject().contains(mailDetails.getSubject()) && Arrays.toString(message.getFrom()).contains(mailDetails.getSender());
+        return mailDetails.getSender() != null && isMessageMatchedBySubject(message, mailDetails)
+                && message.getFrom() != null && Arrays.toString(message.getFrom()).contains(mailDetails.getSender());
     }
 
     @SneakyThrows
@@ -0,0 +1,202 @@
+package util.mail;
+
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPStore;
+import jakarta.mail.FetchProfile;
+import jakarta.mail.Flags;
+import jakarta.mail.Folder;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.event.MessageCountAdapter;
+import jakarta.mail.event.MessageCountEvent;
+import jakarta.mail.search.FlagTerm;
+import lombok.SneakyThrows;
+import util.log.Log;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Waits for the emails of the mailbox on the single long-lived connection which is shared by all threads.
+ * <p>
+ * New messages are pushed by the server with IMAP IDLE (or polled with NOOP if the server doesn't support IDLE)
+ * and are dispatched to the registered waiters by their predicates, so each thread waits only for its own email.
+ * Unseen messages which were received before the waiter was registered are matched too.
+ * Each message is handed to one waiter only, so the waiters with overlapping predicates get different messages.
+ * <p>
+ * System properties: <b>mail.watcher</b> (default: false) and <b>mail.watcher.pollSeconds</b> - interval of the polling
+ * and of the reconnection attempts (default: 2).
+ */
+class MailWatcher {
+    private static final boolean ENABLED = Boolean.getBoolean("mail.watcher");
+    private static final long POLL_MILLIS = TimeUnit.SECONDS.toMillis(Math.max(1, Integer.getInteger("mail.watcher.pollSeconds", 2)));
+    private static final Map<String, MailWatcher> WATCHERS = new ConcurrentHashMap<>();
+
+    private final String user;
+    private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+    private final Map<Message, Boolean> claimed = Collections.synchronizedMap(new WeakHashMap<>());
+    private volatile MailConnector mailBox;
+    private volatile Folder inbox;
+    private boolean idleSupported;
+
+    private record Waiter(Predicate<Message> matcher, CompletableFuture<Message> result) {
+    }
+
+    private MailWatcher(String user) {
+        this.user = user;
+    }
+
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return watcher of the mailbox; the first call connects to the mailbox
+     */
+    static MailWatcher of(String user) {
+        return WATCHERS.computeIfAbsent(user, u -> new MailWatcher(u).start());
+    }
+
+    @SneakyThrows
+    private MailWatcher start() {
+        connect();
+        Thread t = new Thread(this::watch, "mail-watcher-" + user);
+        t.setDaemon(true);
+        t.start();
+        return this;
+    }
+
+    /**
+     * Waits for the first unseen message which is matched by the predicate.
+     *
+     * @return null if the message was not received during the timeout
+     */
+    @SneakyThrows
+    Message await(Predicate<Message> matcher, long waitSec) {
+        Waiter waiter = new Waiter(matcher, new CompletableFuture<>());
+        waiters.add(waiter);
+        try {
+            Folder folder = inbox;
+            if (folder != null && folder.isOpen()) {
+                offer(waiter, folder.search(new FlagTerm(new Flags(Flags.Flag.SEEN), false)));
+            }
+            return waiter.result().get(waitSec, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } finally {
+            waiters.remove(waiter);
+        }
+    }
+
+    private void connect() throws MessagingException {
+        MailConnector connector = new MailConnector().connect(user);
+        Folder folder = connector.openInboxFolder();
+        folder.addMessageCountListener(new MessageCountAdapter() {
+            @Override
+            public void messagesAdded(MessageCountEvent e) {
+                dispatch(e.getMessages());
+            }
+        });
+        idleSupported = folder instanceof IMAPFolder && connector.getStore() instanceof IMAPStore store && store.hasCapability("IDLE");
+        if (!idleSupported) {
+            Log.debug("IMAP IDLE is not supported by the mail server, new emails are polled every " + POLL_MILLIS + " ms.");
+        }
+        mailBox = connector;
+        inbox = folder;
+    }
+
+    private void watch() {
+        while (true) {
+            try {
+                Folder folder = inbox;
+                if (folder == null || !folder.isOpen()) {
+                    reconnect();
+                } else if (idleSupported) {
+                    ((IMAPFolder) folder).idle(true); // returns on the server notification or when other thread uses the folder
+                } else {
+                    Thread.sleep(POLL_MILLIS);
+                    folder.getMessageCount();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                Log.debug("Connection to the mailbox of the user " + user + " was lost: " + e.getMessage());
+                inbox = null;
+            }
+        }
+    }
+
+    private void reconnect() throws InterruptedException {
+        if (mailBox != null) {
+            try {
+                mailBox.close();
+            } catch (Exception e) {
+                Log.debug("Mailbox was not closed: " + e.getMessage());
+            }
+        }
+        try {
+            connect();
+        } catch (MessagingException e) {
+            Log.debug("Mailbox of the user " + user + " was not reconnected: " + e.getMessage());
+            Thread.sleep(POLL_MILLIS);
+            return;
+        }
+        // messages could be received while the connection was lost
+        for (Waiter waiter : waiters) {
+            try {
+                offer(waiter, inbox.search(new FlagTerm(new Flags(Flags.Flag.SEEN), false)));
+            } catch (MessagingException e) {
+                Log.debug("Unseen emails were not checked after reconnection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(Message[] messages) {
+        if (waiters.isEmpty() || messages.length == 0) {
+            return;
+        }
+        try {
+            FetchProfile profile = new FetchProfile();
+            profile.add(FetchProfile.Item.ENVELOPE);
+            profile.add(FetchProfile.Item.FLAGS);
+            messages[0].getFolder().fetch(messages, profile);
+        } catch (Exception e) {
+            Log.debug("Envelopes of new emails were not prefetched: " + e.getMessage());
+        }
+        for (Waiter waiter : waiters) {
+            offer(waiter, messages);
+        }
+    }
+
+    /**
+     * Completes the waiter by the first matched message which was not handed to other waiter.
+     * Failure of one message doesn't stop the check of the rest.
+     */
+    private void offer(Waiter waiter, Message[] messages) {
+        for (Message message : messages) {
+            if (waiter.result().isDone()) {
+                return;
+            }
+            try {
+                if (!message.isExpunged() && !message.isSet(Flags.Flag.SEEN) && !claimed.containsKey(message)
+                        && waiter.matcher().test(message) && claimed.putIfAbsent(message, Boolean.TRUE) == null
+                        && !waiter.result().complete(message)) {
+                    claimed.remove(message); // the waiter was completed by other thread
+                }
+            } catch (Exception e) {
+                Log.debug("Email was not checked for the waiter: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package util.screenshot;
 
 import com.aventstack.extentreports.MediaEntityBuilder;
 import util.log.ExtentManager;
+import util.log.ExtentSteps;
 
 import java.io.File;
 
@@ -9,6 +10,7 @@ public class ExtentAttachments {
 
     public static void attachOutsideScreenshot(String details, String filePath, String additionalPath, String newFileName) {
         ScreenshotOutput s = copyToExtentDir(filePath, additionalPath, newFileName);
+        ExtentSteps.flush();
         ExtentManager.getTest().info(details, MediaEntityBuilder.createScreenCaptureFromPath(s.getRelativePath()).build());
     }
 
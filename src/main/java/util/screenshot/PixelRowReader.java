@@ -0,0 +1,126 @@
+package util.screenshot;
+
+import java.awt.color.ColorSpace;
+import java.awt.image.*;
+
+/**
+ * Reads rows of the image as RGB values (0xRRGGBB, alpha is dropped) into the reusable buffer.<br/>
+ * Integer and byte interleaved sRGB rasters are read directly from the data buffer without per pixel allocations;
+ * other image types are read by {@link BufferedImage#getRGB(int, int, int, int, int[], int, int)} row by row.
+ */
+abstract class PixelRowReader {
+    private static final int RGB_MASK = 0xFFFFFF;
+
+    final int width;
+    final int height;
+
+    private PixelRowReader(BufferedImage image) {
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+    }
+
+    /**
+     * Reads first <b>count</b> pixels of the row <b>y</b> into the buffer.
+     */
+    final void read(int y, int[] buffer, int count) {
+        read(y, buffer, 0, count);
+    }
+
+    /**
+     * Reads first <b>count</b> pixels of the row <b>y</b> into the buffer starting from the <b>offset</b>.
+     */
+    abstract void read(int y, int[] buffer, int offset, int count);
+
+    static PixelRowReader of(BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+        ColorModel colorModel = image.getColorModel();
+        boolean plainRaster = raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0
+                && !colorModel.isAlphaPremultiplied()
+                && colorModel.getColorSpace().isCS_sRGB();
+
+        if (plainRaster
+                && raster.getDataBuffer() instanceof DataBufferInt buffer
+                && raster.getSampleModel() instanceof SinglePixelPackedSampleModel sampleModel
+                && colorModel instanceof DirectColorModel directModel
+                && directModel.getRedMask() == 0xFF0000 && directModel.getGreenMask() == 0xFF00 && directModel.getBlueMask() == 0xFF) {
+            return new IntReader(image, buffer.getData(), buffer.getOffset(), sampleModel.getScanlineStride());
+        }
+        if (plainRaster
+                && raster.getDataBuffer() instanceof DataBufferByte buffer
+                && raster.getSampleModel() instanceof PixelInterleavedSampleModel sampleModel
+                && colorModel instanceof ComponentColorModel
+                && colorModel.getColorSpace().getType() == ColorSpace.TYPE_RGB
+                && sampleModel.getNumBands() >= 3) {
+            return new ByteReader(image, buffer.getData(), buffer.getOffset(), sampleModel);
+        }
+        return new GenericReader(image);
+    }
+
+    private static final class IntReader extends PixelRowReader {
+        private final int[] data;
+        private final int offset;
+        private final int scanlineStride;
+
+        private IntReader(BufferedImage image, int[] data, int offset, int scanlineStride) {
+            super(image);
+            this.data = data;
+            this.offset = offset;
+            this.scanlineStride = scanlineStride;
+        }
+
+        @Override
+        void read(int y, int[] buffer, int bufferOffset, int count) {
+            int start = offset + y * scanlineStride;
+            for (int x = 0; x < count; x++) {
+                buffer[bufferOffset + x] = data[start + x] & RGB_MASK;
+            }
+        }
+    }
+
+    private static final class ByteReader extends PixelRowReader {
+        private final byte[] data;
+        private final int offset;
+        private final int scanlineStride;
+        private final int pixelStride;
+        private final int red;
+        private final int green;
+        private final int blue;
+
+        private ByteReader(BufferedImage image, byte[] data, int offset, PixelInterleavedSampleModel sampleModel) {
+            super(image);
+            int[] bandOffsets = sampleModel.getBandOffsets();
+            this.data = data;
+            this.offset = offset;
+            this.scanlineStride = sampleModel.getScanlineStride();
+            this.pixelStride = sampleModel.getPixelStride();
+            this.red = bandOffsets[0];
+            this.green = bandOffsets[1];
+            this.blue = bandOffsets[2];
+        }
+
+        @Override
+        void read(int y, int[] buffer, int bufferOffset, int count) {
+            int i = offset + y * scanlineStride;
+            for (int x = 0; x < count; x++, i += pixelStride) {
+                buffer[bufferOffset + x] = (data[i + red] & 0xFF) << 16 | (data[i + green] & 0xFF) << 8 | (data[i + blue] & 0xFF);
+            }
+        }
+    }
+
+    private static final class GenericReader extends PixelRowReader {
+        private final BufferedImage image;
+
+        private GenericReader(BufferedImage image) {
+            super(image);
+            this.image = image;
+        }
+
+        @Override
+        void read(int y, int[] buffer, int bufferOffset, int count) {
+            image.getRGB(0, y, count, 1, buffer, bufferOffset, count);
+            for (int x = 0; x < count; x++) {
+                buffer[bufferOffset + x] &= RGB_MASK;
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 
 class Screenshot {
     private final int RED_RGB = (new Color(255, 0, 0)).getRGB();
@@ -33,46 +34,69 @@ class Screenshot {
     }
 
     Diff getDiffFrom(File img) throws IOException {
-        BufferedImage img1 = this.image;
-        BufferedImage img2 = ImageIO.read(img);
-        int w1 = img1.getWidth();
-        int w2 = img2.getWidth();
-        int h1 = img1.getHeight();
-        int h2 = img2.getHeight();
-//        Assert.assertEquals(w1, w2, "Images width are different.");
-//        Assert.assertEquals(h1, h2, "Images height are different.");
+        return getDiffFrom(ImageIO.read(img));
+    }
+
+    /**
+     * Sums per channel (RGB) differences of the pixels. Pixels of this image which are out of the expected image
+     * are compared with black pixels.
+     */
+    Diff getDiffFrom(BufferedImage expectedImage) {
+        PixelRowReader actualRows = PixelRowReader.of(this.image);
+        PixelRowReader expectedRows = PixelRowReader.of(expectedImage);
+        if (actualRows.width != expectedRows.width || actualRows.height != expectedRows.height) {
+            Log.debug("Images sizes are different. Actual: " + width + "x" + height +
+                    "; expected: " + expectedRows.width + "x" + expectedRows.height + ".");
+        }
+        int commonWidth = Math.min(width, expectedRows.width);
+        int[] actualRow = new int[width];
+        int[] expectedRow = new int[width]; // pixels after commonWidth stay black
 
         long diffPixelsCount = 0;
         long diff = 0;
-        for (int j = 0; j < h1; j++) {
-            for (int i = 0; i < w1; i++) {
-                //Getting the RGB values of a pixel
-                int pixel1 = img1.getRGB(i, j);
-                Color color1 = new Color(pixel1, true);
-                int r1 = color1.getRed();
-                int g1 = color1.getGreen();
-                int b1 = color1.getBlue();
-                int pixel2;
-                try {
-                    pixel2 = img2.getRGB(i, j);
-                }catch (ArrayIndexOutOfBoundsException e){
-                    pixel2 = 0;
+        for (int y = 0; y < height; y++) {
+            actualRows.read(y, actualRow, width);
+            if (y < expectedRows.height) {
+                expectedRows.read(y, expectedRow, commonWidth);
+            } else if (y == expectedRows.height) {
+                Arrays.fill(expectedRow, 0);
+            }
+            for (int x = 0; x < width; x++) {
+                int rgb1 = actualRow[x];
+                int rgb2 = expectedRow[x];
+                if (rgb1 != rgb2) {
+                    diffPixelsCount++;
+                    diff += channelsDelta(rgb1, rgb2);
                 }
-                Color color2 = new Color(pixel2, true);
-                int r2 = color2.getRed();
-                int g2 = color2.getGreen();
-                int b2 = color2.getBlue();
-                //sum of differences of RGB values of the two images
-                long data = Math.abs(r1 - r2) + Math.abs(g1 - g2) + Math.abs(b1 - b2);
-                if(data > 0) diffPixelsCount++;
-                diff = diff + data;
             }
         }
-        double avg = (double) diff / (w1 * h1 * 3);
-        double percentage = (avg / 255) * 100;
-        Log.debug("Difference: " + percentage + " %, pixels =" + diffPixelsCount + " of " + (w1 * h1));
-        return new Diff(percentage, diffPixelsCount);
+        return Diff.of(diff, diffPixelsCount, (long) width * height);
+    }
 
+    /**
+     * Compares the images by {@link TiledScreenshotComparator} and renders the diff image in the same pass.<br/>
+     * In fast fail mode the comparison stops once the deviation is exceeded, so only the compared bands are rendered.
+     */
+    TiledScreenshotComparator.Result compareTiled(BufferedImage expectedImage, double deviation, long minPixels) {
+        TiledScreenshotComparator comparator = new TiledScreenshotComparator(image, expectedImage, true);
+        if (TiledScreenshotComparator.FAST_FAIL) {
+            comparator.stopWhenExceeded(deviation, minPixels);
+        }
+        return comparator.compare();
+    }
+
+    /**
+     * @return sum of absolute differences of red, green and blue channels of two RGB values
+     */
+    static int channelsDelta(int rgb1, int rgb2) {
+        return abs(((rgb1 >>> 16) & 0xFF) - ((rgb2 >>> 16) & 0xFF))
+                + abs(((rgb1 >>> 8) & 0xFF) - ((rgb2 >>> 8) & 0xFF))
+                + abs((rgb1 & 0xFF) - (rgb2 & 0xFF));
+    }
+
+    private static int abs(int value) {
+        int mask = value >> 31;
+        return (value ^ mask) - mask;
     }
 
     void createDiffImageFrom(BufferedImage image, String pathDiffImageFileName) {
@@ -108,6 +132,16 @@ class Screenshot {
             this.pixels = pixels;
         }
 
+        /**
+         * @param channelsDelta sum of per channel (RGB) differences of all pixels
+         */
+        static Diff of(long channelsDelta, long diffPixels, long totalPixels) {
+            double avg = (double) channelsDelta / (totalPixels * 3);
+            double percentage = (avg / 255) * 100;
+            Log.debug("Difference: " + percentage + " %, pixels =" + diffPixels + " of " + totalPixels);
+            return new Diff(percentage, diffPixels);
+        }
+
         Double getPercentage() {
             return percentage;
         }
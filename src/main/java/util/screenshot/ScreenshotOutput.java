@@ -5,6 +5,7 @@ import org.apache.commons.io.FileUtils;
 import util.DriverConfig;
 import util.PropertyLoader;
 import util.log.ExtentManager;
+import util.log.ExtentSteps;
 import util.log.Log;
 
 import java.io.File;
@@ -33,18 +34,46 @@ public class ScreenshotOutput {
     }
 
     public ScreenshotOutput makeScreenshot(String fileName, boolean attachToReport) {
+        File srcFile = capture();
+        if (srcFile == null) {
+            return this;
+        }
+        if (attachToReport) {
+            ExtentSteps.flush();
+        }
+        return save(srcFile, fileName, attachToReport, ExtentManager.getTest());
+    }
+
+    /**
+     * Takes the screenshot of the visible page. It's saved by {@link #save(File, String, boolean, ExtentTest)}.
+     *
+     * @return null if the screenshot is not available
+     */
+    public File capture() {
         if (!DriverConfig.driverCreated()) {
             Log.debug("Screenshot is not available since Driver is null.");
-            return this;
+            return null;
+        }
+        try {
+            return new ScreenshotRecorder().takeVisiblePage();
+        } catch (Throwable e) {
+            failed(e);
+            return null;
         }
+    }
+
+    /**
+     * Saves the screenshot taken by {@link #capture()}. Doesn't use the driver, so it can be called from any thread.
+     *
+     * @param test test to attach the screenshot to
+     */
+    public ScreenshotOutput save(File srcFile, String fileName, boolean attachToReport, ExtentTest test) {
         try {
-            File srcFile = new ScreenshotRecorder().takeVisiblePage();
             saveToDir(srcFile, buildFileName(fileName));
 
 //            AllureAttachments.attachScreen("Page screenshot", absoluteFilePath);
 
             if (attachToReport) {
-                ExtentTest test = ExtentManager.getTest();
                 if (test != null) {
                     test.addScreenCaptureFromPath(getRelativePath(), "Page with failure");
                 } else {
@@ -58,15 +87,19 @@ public class ScreenshotOutput {
             return this;
 
         } catch (Throwable e) {
-            e.printStackTrace();
-            Log.debug("Not able to make Screenshot because of exception. Details: \r\n"
-                    + e.getMessage() + "\r\n"
-                    + Arrays.toString(e.getStackTrace()));
-            absoluteFilePath = "Not able to make screenshot due to exception: " + e;
+            failed(e);
             return this;
         }
     }
 
+    private void failed(Throwable e) {
+        e.printStackTrace();
+        Log.debug("Not able to make Screenshot because of exception. Details: \r\n"
+                + e.getMessage() + "\r\n"
+                + Arrays.toString(e.getStackTrace()));
+        absoluteFilePath = "Not able to make screenshot due to exception: " + e;
+    }
+
     private static String buildFileName(String method) {
         return "Screen_" + method + "_" + getTimeStamp() + ".png";
     }
@@ -1,6 +1,7 @@
 package util.screenshot;
 
 import com.assertthat.selenium_shutterbug.core.PageSnapshot;
+import com.assertthat.selenium_shutterbug.utils.file.FileUtil;
 import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.remote.RemoteWebDriver;
@@ -22,6 +23,7 @@ public class SnapshotAssertFactory {
 
     private static final String DEFAULT_SCREENSHOTS_FOLDER = "src/test/testScreenshots/";
     private static final boolean CREATE_EXPECTED_FROM_ACTUAL = false;
+    private static final long MIN_DIFF_PIXELS = 10;
 
     private String expectedDir;
     private String actualDir;
@@ -72,13 +74,17 @@ public class SnapshotAssertFactory {
 
     private void assertScreenshot(Screenshot actual, Double deviation) throws IOException {
         File expected = getExpectedScreenshot();
+        if (TiledScreenshotComparator.ENABLED) {
+            assertScreenshotTiled(actual, expected, deviation);
+            return;
+        }
         Screenshot.Diff difference = actual.getDiffFrom(expected);
         Double diff = difference.getPercentage();
         String diffData = "Actual deviation : " + diff + "%(pixels = " + difference.getPixels() + "); Expected % = " + deviation.toString();
 
         if (diff > 0) Log.logInReport(diffData);
 
-        if (difference.getPixels() > 10 && diff > deviation) {
+        if (difference.getPixels() > MIN_DIFF_PIXELS && diff > deviation) {
             BufferedImage eImage = ImageIO.read(expected);
             actual.createDiffImageFrom(eImage, getDiffDir() + getFileNameWithExtension());
             buildDiffGiff();
@@ -86,6 +92,21 @@ public class SnapshotAssertFactory {
         }
     }
 
+    private void assertScreenshotTiled(Screenshot actual, File expected, Double deviation) throws IOException {
+        TiledScreenshotComparator.Result result = actual.compareTiled(ImageIO.read(expected), deviation, MIN_DIFF_PIXELS);
+        Screenshot.Diff difference = result.diff();
+        Double diff = difference.getPercentage();
+        String diffData = "Actual deviation : " + (result.exceeded() ? "at least " : "") + diff + "%(pixels = " + difference.getPixels() + "); Expected % = " + deviation.toString();
+
+        if (diff > 0) Log.logInReport(diffData);
+
+        if (difference.getPixels() > MIN_DIFF_PIXELS && diff > deviation) {
+            FileUtil.writeImage(result.diffImage(), Screenshot.FILE_FORMAT, new File(getDiffDir() + getFileNameWithExtension()));
+            buildDiffGiff();
+            Assert.fail("Screenshots are not similar for file :" + getFileNameWithExtension() + ". " + diffData);
+        }
+    }
+
     private void buildDiffGiff() throws IOException {
         String expectedFile = getExpectedFilePath();
         String actualFile = getActualFilePath();
@@ -0,0 +1,194 @@
+package util.screenshot;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares screenshots by horizontal bands of rows in parallel on the dedicated {@link ForkJoinPool}.
+ * <p>
+ * Diff statistics and the diff image are computed in the same pass. Only the bands which have different pixels
+ * keep their rendered rows, the rest of the diff image is copied from the actual image when it is requested.<br/>
+ * With {@link #stopWhenExceeded(double, long)} comparison stops as soon as the deviation is exceeded for sure,
+ * in that case the statistics are lower bounds and only the compared bands are rendered in the diff image.
+ * <p>
+ * System properties:<br/>
+ * <b>screenshot.diff.tiled</b> - compare screenshots by this comparator (default: false);<br/>
+ * <b>screenshot.diff.parallelism</b> - threads of the pool (default: 2), so the comparison doesn't take the cores of TestNG threads;<br/>
+ * <b>screenshot.diff.fastFail</b> - stop comparison once the deviation is exceeded (default: false).
+ */
+class TiledScreenshotComparator {
+    static final boolean ENABLED = Boolean.getBoolean("screenshot.diff.tiled");
+    static final boolean FAST_FAIL = Boolean.getBoolean("screenshot.diff.fastFail");
+
+    private static final int PARALLELISM = Math.max(1, Integer.getInteger("screenshot.diff.parallelism", 2));
+    private static final int BAND_HEIGHT = 64;
+    private static final int RED_MASK = 0xFF0000;
+
+    private final PixelRowReader actualRows;
+    private final PixelRowReader expectedRows;
+    private final int width;
+    private final int height;
+    private final int commonWidth;
+    private final boolean renderDiff;
+    private final int[][] renderedBands;
+
+    private double maxChannelsDelta = Double.POSITIVE_INFINITY;
+    private long minPixels;
+
+    private final LongAdder channelsDelta = new LongAdder();
+    private final LongAdder diffPixels = new LongAdder();
+    private volatile boolean exceeded;
+
+    /**
+     * @param renderDiff render the diff image: differing pixels keep only the red channel of the actual image
+     */
+    TiledScreenshotComparator(BufferedImage actual, BufferedImage expected, boolean renderDiff) {
+        this.actualRows = PixelRowReader.of(actual);
+        this.expectedRows = PixelRowReader.of(expected);
+        this.width = actualRows.width;
+        this.height = actualRows.height;
+        this.commonWidth = Math.min(width, expectedRows.width);
+        this.renderDiff = renderDiff;
+        this.renderedBands = new int[(height + BAND_HEIGHT - 1) / BAND_HEIGHT][];
+    }
+
+    /**
+     * Stops the comparison when more than <b>minPixels</b> pixels are different and difference is more than <b>deviation</b> %.
+     */
+    TiledScreenshotComparator stopWhenExceeded(double deviation, long minPixels) {
+        this.maxChannelsDelta = deviation / 100 * 255 * 3 * ((double) width * height);
+        this.minPixels = minPixels;
+        return this;
+    }
+
+    Result compare() {
+        if (PARALLELISM == 1) {
+            for (int band = 0; band < renderedBands.length && !exceeded; band++) {
+                compareBand(band);
+            }
+        } else {
+            PoolHolder.POOL.invoke(new BandsTask(0, renderedBands.length));
+        }
+        Screenshot.Diff diff = Screenshot.Diff.of(channelsDelta.sum(), diffPixels.sum(), (long) width * height);
+        return new Result(diff, exceeded, renderDiff ? composeDiffImage() : null);
+    }
+
+    private void compareBand(int band) {
+        if (exceeded) {
+            return;
+        }
+        int from = band * BAND_HEIGHT;
+        int to = Math.min(height, from + BAND_HEIGHT);
+        int[] actualRow = new int[width];
+        int[] expectedRow = new int[width]; // pixels after commonWidth stay black
+        int[] rendered = null;
+        long bandDelta = 0;
+        long bandPixels = 0;
+
+        for (int y = from; y < to; y++) {
+            actualRows.read(y, actualRow, width);
+            boolean outOfExpected = y >= expectedRows.height;
+            if (!outOfExpected) {
+                expectedRows.read(y, expectedRow, commonWidth);
+            } else if (y == expectedRows.height) {
+                Arrays.fill(expectedRow, 0);
+            }
+            boolean rowDiffers = outOfExpected || commonWidth < width;
+            for (int x = 0; x < width; x++) {
+                int rgb1 = actualRow[x];
+                int rgb2 = expectedRow[x];
+                if (rgb1 != rgb2) {
+                    bandPixels++;
+                    bandDelta += Screenshot.channelsDelta(rgb1, rgb2);
+                    rowDiffers = true;
+                }
+            }
+            if (renderDiff && (rowDiffers || rendered != null)) {
+                if (rendered == null) {
+                    rendered = new int[(to - from) * width];
+                    for (int r = from; r < y; r++) {
+                        actualRows.read(r, rendered, (r - from) * width, width);
+                    }
+                }
+                renderRow(actualRow, expectedRow, outOfExpected, rendered, (y - from) * width);
+            }
+        }
+        renderedBands[band] = rendered;
+        channelsDelta.add(bandDelta);
+        diffPixels.add(bandPixels);
+        if (diffPixels.sum() > minPixels && channelsDelta.sum() > maxChannelsDelta) {
+            exceeded = true;
+        }
+    }
+
+    /**
+     * Pixels out of the expected image are marked as different.
+     */
+    private void renderRow(int[] actualRow, int[] expectedRow, boolean outOfExpected, int[] rendered, int offset) {
+        for (int x = 0; x < width; x++) {
+            int rgb = actualRow[x];
+            boolean differs = outOfExpected || x >= commonWidth || rgb != expectedRow[x];
+            rendered[offset + x] = differs ? rgb & RED_MASK : rgb;
+        }
+    }
+
+    private BufferedImage composeDiffImage() {
+        BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] data = ((DataBufferInt) output.getRaster().getDataBuffer()).getData();
+        for (int band = 0; band < renderedBands.length; band++) {
+            int from = band * BAND_HEIGHT;
+            int to = Math.min(height, from + BAND_HEIGHT);
+            if (renderedBands[band] != null) {
+                System.arraycopy(renderedBands[band], 0, data, from * width, (to - from) * width);
+            } else {
+                for (int y = from; y < to; y++) {
+                    actualRows.read(y, data, y * width, width);
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * @param exceeded  comparison was stopped because the deviation was exceeded: the diff values are lower bounds
+     *                  and the bands which were not compared are copied from the actual image
+     * @param diffImage null if it was not requested
+     */
+    record Result(Screenshot.Diff diff, boolean exceeded, BufferedImage diffImage) {
+    }
+
+    private class BandsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int fromBand;
+        private final int toBand;
+
+        private BandsTask(int fromBand, int toBand) {
+            this.fromBand = fromBand;
+            this.toBand = toBand;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBand - fromBand <= 1) {
+                if (fromBand < toBand) {
+                    compareBand(fromBand);
+                }
+                return;
+            }
+            int middle = (fromBand + toBand) >>> 1;
+            invokeAll(new BandsTask(fromBand, middle), new BandsTask(middle, toBand));
+        }
+    }
+
+    /**
+     * The pool is created on the first tiled comparison. Its worker threads are daemons.
+     */
+    private static class PoolHolder {
+        private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM);
+    }
+}
@@ -2,6 +2,8 @@ import org.openqa.selenium.PageLoadStrategy;
 import org.testng.annotations.*;
 import util.BrowserProfile;
 import util.DriverConfig;
+import util.DriverCreationThrottle;
+import util.DriverPool;
 import util.ExecutionVariables;
 import util.execution.TestExecutionManager;
 import util.execution.TestProfile;
@@ -19,6 +21,19 @@ public class BaseTest {
     protected BrowserProfile.Type browser = BrowserProfile.Type.CHROME;
 
 
+    @Parameters("browser")
+    @BeforeSuite(alwaysRun = true)
+    public void warmUpDriverPool(@Optional String browser) {
+        if (!DriverPool.enabled()) {
+            return;
+        }
+        setBrowser(browser);
+        BrowserProfile bp = new BrowserProfile(getBrowser());
+        bp.setPageLoadStrategy(getPageLoadStrategy());
+        bp.setSessionName("[Pooled]_" + getBrowser().getName());
+        DriverPool.getInstance().warmUp(bp, DriverPool.warmUpSize());
+    }
+
     //setup driver
     @Parameters("browser")
     @BeforeClass(alwaysRun = true)
@@ -30,7 +45,11 @@ public class BaseTest {
 
         setupTestProfile();
         setupBrowserProfile();
-        DriverConfig.createDriver(browserProfile());
+        if (createDriverInBackground()) {
+            DriverConfig.createDriverAsync(browserProfile());
+        } else {
+            DriverConfig.createDriver(browserProfile());
+        }
     }
 
     @AfterClass(alwaysRun = true)
@@ -57,6 +76,10 @@ public class BaseTest {
                 TestExecutionManager.getDriverWatchers().get(id).close();
                 TestExecutionManager.removeDriverWatchers(id);
             }
+            if (DriverPool.enabled()) {
+                DriverPool.getInstance().shutdown();
+            }
+            Log.logInConsole(DriverCreationThrottle.getStats());
             if (!ExecutionVariables.testOnLocalMachine()) {
                 new MailReader().deleteEmails();
             }
@@ -74,6 +97,14 @@ public class BaseTest {
         assignBrowserProfile();
     }
 
+    /**
+     * When true, the driver is created in background and the rest of the test setup is not blocked by the session creation.
+     * The driver is bound to the test thread on the first DriverConfig.getDriver() call.
+     */
+    protected boolean createDriverInBackground() {
+        return DriverConfig.asyncCreationEnabled();
+    }
+
     protected TestProfile getTestProfile() {
         return testProfile;
     }